@@ -6,7 +6,7 @@ import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.context.annotation.ComponentScan;
 
 @SpringBootApplication
-@ComponentScan(basePackages = {"comment", "util", "feign.event"}) // для логирования через AOP
+@ComponentScan(basePackages = {"comment", "util", "feign.event", "feign.user"}) // для логирования через AOP
 @EnableFeignClients(basePackages = {"feign.event", "feign.user"})
 public class CommentServiceApp {
     public static void main(String[] args) {
@@ -6,10 +6,10 @@ import comment.dal.repository.CommentRepository;
 import dto.comment.CommentDto;
 import dto.comment.NewCommentDto;
 import dto.comment.UpdateCommentDto;
-import dto.event.EventFullDto;
+import dto.event.EventMetadataDto;
 import dto.user.UserShortDto;
-import feign.event.EventClient;
-import feign.user.UserClient;
+import feign.event.EventMetadataCache;
+import feign.user.UserCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
@@ -29,15 +29,15 @@ public class CommentServiceImpl implements CommentService {
 
     private final CommentRepository commentRepository;
     private final CommentWriteService commentWriteService;
-    private final EventClient eventClient;
-    private final UserClient userClient;
+    private final EventMetadataCache eventMetadataCache;
+    private final UserCache userCache;
     private final CommentMapper commentMapper;
 
     @Override
     public CommentDto createComment(Long userId, Long eventId, NewCommentDto newCommentDto) {
         log.debug("Создание нового комментария: userId={}, eventId={}", userId, eventId);
 
-        EventFullDto event = eventClient.getById(eventId);
+        EventMetadataDto event = eventMetadataCache.get(eventId);
 
         if (event == null) {
             log.warn("Попытка создания комментария к несуществующему событию: eventId={}", eventId);
@@ -59,7 +59,7 @@ public class CommentServiceImpl implements CommentService {
         log.info("Создан новый комментарий: ID={}, authorId={}, eventId={}",
                 savedComment.getId(), userId, eventId);
 
-        return commentMapper.toDto(savedComment, userClient.getById(userId));
+        return commentMapper.toDto(savedComment, userCache.getById(userId));
     }
 
     @Override
@@ -70,7 +70,7 @@ public class CommentServiceImpl implements CommentService {
         Comment updatedComment = commentWriteService.update(userId, commentId, updateCommentDto);
         log.info("Комментарий обновлен: commentId={}", commentId);
 
-        return commentMapper.toDto(updatedComment, userClient.getById(userId));
+        return commentMapper.toDto(updatedComment, userCache.getById(userId));
     }
 
     @Override
@@ -98,12 +98,12 @@ public class CommentServiceImpl implements CommentService {
         log.debug("Получение комментариев для события: eventId={}, page={}, size={}",
                 eventId, pageable.getPageNumber(), pageable.getPageSize());
 
-        if (eventClient.getById(eventId) == null) {
+        if (eventMetadataCache.get(eventId) == null) {
             log.warn("Попытка получения комментариев для несуществующего события: eventId={}", eventId);
             throw new NotFoundException("Событие не найдено");
         }
         List<Comment> comments = commentRepository.findByEventIdNotDeleted(eventId, pageable).getContent();
-        Map<Long, UserShortDto> users = userClient.getByIds(comments.stream().map(Comment::getAuthor).distinct().toList());
+        Map<Long, UserShortDto> users = userCache.getByIds(comments.stream().map(Comment::getAuthor).distinct().toList());
         return comments.stream()
                 .map(comment -> commentMapper.toDto(comment, users.get(comment.getAuthor())))
                 .collect(Collectors.toList());
@@ -114,7 +114,7 @@ public class CommentServiceImpl implements CommentService {
         log.debug("Получение комментариев пользователя: userId={}, page={}, size={}",
                 userId, pageable.getPageNumber(), pageable.getPageSize());
 
-        UserShortDto userDto = userClient.getById(userId);
+        UserShortDto userDto = userCache.getById(userId);
 
         return commentRepository.findByAuthorIdAndIsDeletedFalse(userId, pageable)
                 .stream()
@@ -133,7 +133,7 @@ public class CommentServiceImpl implements CommentService {
                 });
 
         log.debug("Комментарий найден: commentId={}", commentId);
-        return commentMapper.toDto(comment, userClient.getById(comment.getAuthor()));
+        return commentMapper.toDto(comment, userCache.getById(comment.getAuthor()));
     }
 
     @Override
@@ -141,7 +141,7 @@ public class CommentServiceImpl implements CommentService {
         log.debug("Получение комментариев для списка событий: eventsCount={}", eventIds.size());
 
         List<Comment> comments = commentRepository.findByEventIds(eventIds);
-        Map<Long, UserShortDto> users = userClient.getByIds(comments.stream().map(Comment::getAuthor).distinct().toList());
+        Map<Long, UserShortDto> users = userCache.getByIds(comments.stream().map(Comment::getAuthor).distinct().toList());
         List<CommentDto> result = comments.stream()
                 .map(comment -> commentMapper.toDto(comment, users.get(comment.getAuthor())))
                 .collect(Collectors.toList());
@@ -0,0 +1,13 @@
+-- Схема, которую создавал hibernate ddl-auto: update до перехода на миграции.
+-- На существующих базах эта миграция пропускается (spring.flyway.baseline-version = 1).
+
+CREATE TABLE IF NOT EXISTS comments (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    text         VARCHAR(2000) NOT NULL,
+    author_id    BIGINT        NOT NULL,
+    event_id     BIGINT        NOT NULL,
+    created_date TIMESTAMP(6)  NOT NULL,
+    updated_date TIMESTAMP(6),
+    is_edited    BOOLEAN       NOT NULL,
+    is_deleted   BOOLEAN       NOT NULL
+);
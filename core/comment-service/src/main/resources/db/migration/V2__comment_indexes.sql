@@ -0,0 +1,8 @@
+-- Комментарии события: фильтр по event_id и is_deleted, порядок по created_date DESC
+-- берётся из индекса без сортировки (findByEventIdNotDeleted, findByEventIds)
+CREATE INDEX IF NOT EXISTS idx_comments_event_deleted_created
+    ON comments (event_id, is_deleted, created_date DESC);
+
+-- Комментарии автора (findByAuthorIdAndIsDeletedFalse)
+CREATE INDEX IF NOT EXISTS idx_comments_author_deleted_created
+    ON comments (author_id, is_deleted, created_date DESC);
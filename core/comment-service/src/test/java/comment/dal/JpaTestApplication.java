@@ -0,0 +1,10 @@
+package comment.dal;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Конфигурация для срезов @DataJpaTest: CommentServiceApp включает Feign-клиенты, которые срезу не нужны.
+ */
+@SpringBootApplication
+public class JpaTestApplication {
+}
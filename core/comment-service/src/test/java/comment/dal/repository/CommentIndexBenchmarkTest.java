@@ -0,0 +1,74 @@
+package comment.dal.repository;
+
+import comment.dal.entity.Comment;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import util.test.IndexBenchmark;
+import util.test.PostgresIntegrationTest;
+
+import java.util.Comparator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Задержка первой страницы комментариев события на 500 000 комментариев с индексом
+ * idx_comments_event_deleted_created и без него. Запуск: mvn test -Pbenchmark -pl core/comment-service
+ */
+@Tag("benchmark")
+@Slf4j
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CommentIndexBenchmarkTest extends PostgresIntegrationTest {
+    private static final int COMMENTS = 500_000;
+    private static final int EVENTS = 5_000;
+    private static final int RUNS = 30;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("INSERT INTO comments (text, author_id, event_id, created_date, is_edited, is_deleted) " +
+                "SELECT 'comment ' || i, i % 1000, i % ?, LOCALTIMESTAMP - i * INTERVAL '1 second', false, " +
+                "i % 10 = 0 FROM generate_series(1, ?) i", EVENTS, COMMENTS);
+        jdbcTemplate.execute("ANALYZE comments");
+    }
+
+    @Test
+    void firstPageOfEventCommentsUsesIndex() {
+        IndexBenchmark.Result result = IndexBenchmark.measure(transactionManager, jdbcTemplate,
+                "idx_comments_event_deleted_created", RUNS, () -> {
+                    Page<Comment> page = commentRepository.findByEventIdNotDeleted(42L, PageRequest.of(0, 10));
+                    assertThat(page.getContent()).hasSize(10)
+                            .isSortedAccordingTo(Comparator.comparing(Comment::getCreatedDate).reversed());
+                });
+
+        log.info("Первая страница комментариев события: {}", result);
+        assertThat(result.withIndexNanos()).isLessThan(result.withoutIndexNanos());
+    }
+
+    @Test
+    void commentsOfAuthorUseIndex() {
+        IndexBenchmark.Result result = IndexBenchmark.measure(transactionManager, jdbcTemplate,
+                "idx_comments_author_deleted_created", RUNS, () -> assertThat(commentRepository
+                        .findByAuthorIdAndIsDeletedFalse(7L, PageRequest.of(0, 10)).getContent()).hasSize(10));
+
+        log.info("Первая страница комментариев автора: {}", result);
+        assertThat(result.withIndexNanos()).isLessThan(result.withoutIndexNanos());
+    }
+}
@@ -6,7 +6,7 @@ import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.context.annotation.ComponentScan;
 
 @SpringBootApplication
-@ComponentScan(basePackages = {"event", "util", "client", "feign.request"})
+@ComponentScan(basePackages = {"event", "util", "client", "feign.request", "feign.user"})
 @EnableFeignClients(basePackages = {"feign.request", "feign.user"})
 public class EventServiceApp {
     public static void main(String[] args) {
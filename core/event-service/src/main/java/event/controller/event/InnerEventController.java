@@ -1,6 +1,9 @@
 package event.controller.event;
 
+import dto.event.EventField;
 import dto.event.EventFullDto;
+import dto.event.EventMetadataDto;
+import dto.request.EventConfirmedRequestsDto;
 import event.service.EventService;
 import event.service.EventStatsService;
 import feign.event.EventOperations;
@@ -9,6 +12,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/events")
@@ -19,8 +23,22 @@ public class InnerEventController implements EventOperations {
 
     @Override
     @GetMapping("/{id}")
-    public EventFullDto getById(@PathVariable("id") Long id) {
-        return eventService.getEventById(id);
+    public EventFullDto getById(@PathVariable("id") Long id,
+                                @RequestParam(value = "fields", required = false) Set<String> fields) {
+        return eventService.getEventById(id, EventField.parse(fields));
+    }
+
+    @Override
+    @GetMapping
+    public List<EventFullDto> getByIds(@RequestParam("ids") List<Long> ids,
+                                       @RequestParam(value = "fields", required = false) Set<String> fields) {
+        return eventService.getEvents(ids, EventField.parse(fields));
+    }
+
+    @Override
+    @GetMapping("/{id}/metadata")
+    public EventMetadataDto getMetadata(@PathVariable("id") Long id) {
+        return eventService.getEventMetadata(id);
     }
 
     @Override
@@ -28,4 +46,10 @@ public class InnerEventController implements EventOperations {
     public Map<Long, Long> getConfirmedRequestsBatchByEventIds(@RequestParam List<Long> eventIds) {
         return eventStatsService.getConfirmedRequestsBatch(eventIds);
     }
+
+    @Override
+    @PutMapping("/confirmed")
+    public void updateConfirmedRequests(@RequestBody List<EventConfirmedRequestsDto> confirmedRequests) {
+        eventService.updateConfirmedRequests(confirmedRequests);
+    }
 }
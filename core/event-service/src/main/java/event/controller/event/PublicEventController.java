@@ -3,11 +3,14 @@ package event.controller.event;
 import dto.event.EventFullDto;
 import dto.event.EventShortDto;
 import dto.event.PublicEventSearchRequest;
+import event.service.EventCursor;
 import event.service.EventService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Window;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -17,6 +20,7 @@ import java.util.List;
 @RequestMapping("/events")
 @RequiredArgsConstructor
 public class PublicEventController {
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
     private final EventService eventService;
 
@@ -24,6 +28,19 @@ public class PublicEventController {
     public ResponseEntity<List<EventShortDto>> getEvents(@ModelAttribute @Valid PublicEventSearchRequest requestParams,
                                                          HttpServletRequest request) {
         int size = requestParams.getSize() != null ? Math.max(1, requestParams.getSize()) : 10;
+
+        if (requestParams.getCursor() != null) {
+            KeysetScrollPosition position = EventCursor.decode(requestParams.getCursor(), requestParams.getSort());
+            Window<EventShortDto> window = eventService.getPublicEvents(requestParams, position, size,
+                    request.getRemoteAddr());
+
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (window.hasNext()) {
+                response.header(NEXT_CURSOR_HEADER, EventCursor.encode(window.positionAt(window.size() - 1)));
+            }
+            return response.body(window.getContent());
+        }
+
         int from = requestParams.getFrom() != null ? requestParams.getFrom() : 0;
         int page = from / size;
 
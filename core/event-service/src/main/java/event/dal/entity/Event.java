@@ -2,6 +2,7 @@ package event.dal.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
@@ -64,6 +65,20 @@ public class Event {
     @Column(nullable = false, length = 20)
     private String state;
 
+    // Счётчики пишутся только точечными UPDATE (push из request-service и EventViewsProjection),
+    // поэтому save() отредактированного события не затирает их значениями, прочитанными до изменения
+    @Column(name = "confirmed_requests", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long confirmedRequests = 0L;
+
+    // Проекция уникальных просмотров из сервиса статистики, обновляется EventViewsProjection;
+    // индексы для сортировки описаны в миграциях db/migration
+    @Column(nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long views = 0L;
+
     public Boolean getRequestModeration() {
         return isRequestModeration != null ? isRequestModeration : true;
     }
@@ -75,4 +90,12 @@ public class Event {
     public Integer getParticipantLimit() {
         return participantLimit != null ? participantLimit : 0;
     }
+
+    public Long getConfirmedRequests() {
+        return confirmedRequests != null ? confirmedRequests : 0L;
+    }
+
+    public Long getViews() {
+        return views != null ? views : 0L;
+    }
 }
\ No newline at end of file
@@ -35,6 +35,8 @@ public interface EventMapper {
     @Mapping(target = "views", ignore = true)
     EventShortDto toShortDto(Event event, UserShortDto user);
 
+    EventMetadataDto toMetadataDto(Event event);
+
     @Mapping(target = "id", source = "event.id")
     @Mapping(target = "annotation", source = "event.annotation")
     @Mapping(target = "description", source = "event.description")
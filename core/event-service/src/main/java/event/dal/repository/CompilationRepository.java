@@ -5,8 +5,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface CompilationRepository extends JpaRepository<Compilation, Long>, JpaSpecificationExecutor<Compilation> {
@@ -16,4 +19,15 @@ public interface CompilationRepository extends JpaRepository<Compilation, Long>,
     Optional<Compilation> findById(@NonNull Long id);
 
     boolean existsById(@NonNull Long compId);
+
+    @Query("SELECT DISTINCT c FROM Compilation c " +
+            "LEFT JOIN FETCH c.events " +
+            "WHERE c.id IN :ids " +
+            "ORDER BY c.id")
+    List<Compilation> findAllWithEventsByIdIn(@Param("ids") List<Long> ids);
+
+    @Query("SELECT c.id FROM Compilation c " +
+            "JOIN c.events e " +
+            "WHERE e = :eventId")
+    List<Long> findIdsByEventId(@Param("eventId") Long eventId);
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
@@ -41,4 +42,16 @@ public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecific
     List<Event> findAllByIdWithCategoryAndInitiator(@Param("eventIds") List<Long> eventIds);
 
     Event findFirstByOrderByCreatedAtAsc();
+
+    // Значение, прочитанное в request-service раньше уже записанного, отбрасывается
+    @Modifying
+    @Query(value = "UPDATE events SET confirmed_requests = :confirmedRequests, " +
+            "confirmed_requests_version = :version " +
+            "WHERE id = :eventId AND confirmed_requests_version < :version", nativeQuery = true)
+    int updateConfirmedRequests(@Param("eventId") Long eventId,
+                                @Param("confirmedRequests") Long confirmedRequests,
+                                @Param("version") Long version);
+
+    @Query("SELECT e.id FROM Event e ORDER BY e.id")
+    List<Long> findAllIds();
 }
\ No newline at end of file
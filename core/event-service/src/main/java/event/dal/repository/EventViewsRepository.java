@@ -0,0 +1,57 @@
+package event.dal.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class EventViewsRepository {
+    private static final String UPDATE_VIEWS_SQL =
+            "UPDATE events SET views = ? WHERE id = ? AND views <> ?";
+    private static final String LOCK_PROJECTION_STATE_SQL =
+            "SELECT last_refresh_started_at, last_full_refresh_at FROM event_views_projection " +
+            "WHERE id = 1 FOR UPDATE SKIP LOCKED";
+    private static final String SAVE_PROJECTION_STATE_SQL =
+            "UPDATE event_views_projection SET last_refresh_started_at = ?, last_full_refresh_at = ? WHERE id = 1";
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Строки с неизменившимся числом просмотров не переписываются
+    public void updateViews(Map<Long, Long> views) {
+        List<Map.Entry<Long, Long>> rows = views.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .toList();
+        jdbcTemplate.batchUpdate(UPDATE_VIEWS_SQL, rows, BATCH_SIZE, (ps, row) -> {
+            ps.setLong(1, row.getValue());
+            ps.setLong(2, row.getKey());
+            ps.setLong(3, row.getValue());
+        });
+    }
+
+    // Пусто, если проекцию сейчас обновляет другой экземпляр; блокировка держится до конца транзакции
+    public Optional<ViewsProjectionState> lockProjectionState() {
+        return jdbcTemplate.query(LOCK_PROJECTION_STATE_SQL, (rs, rowNum) -> new ViewsProjectionState(
+                        toLocalDateTime(rs.getTimestamp("last_refresh_started_at")),
+                        toLocalDateTime(rs.getTimestamp("last_full_refresh_at"))))
+                .stream()
+                .findFirst();
+    }
+
+    public void saveProjectionState(ViewsProjectionState state) {
+        jdbcTemplate.update(SAVE_PROJECTION_STATE_SQL,
+                Timestamp.valueOf(state.lastRefreshStartedAt()),
+                state.lastFullRefreshAt() != null ? Timestamp.valueOf(state.lastFullRefreshAt()) : null);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,9 @@
+package event.dal.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Отметки последнего обновления проекции просмотров; null, если обновления ещё не было.
+ */
+public record ViewsProjectionState(LocalDateTime lastRefreshStartedAt, LocalDateTime lastFullRefreshAt) {
+}
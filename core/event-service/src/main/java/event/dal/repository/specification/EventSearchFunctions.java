@@ -0,0 +1,31 @@
+package event.dal.repository.specification;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Функции полнотекстового поиска PostgreSQL для Criteria API по генерируемой колонке events.search_vector:
+ * по ней построен GIN-индекс idx_events_search_vector из миграций db/migration, и ранжирование не пересчитывает
+ * to_tsvector для каждой строки. Колонка не отображается в Event, чтобы загрузка события не тянула tsvector,
+ * поэтому шаблоны ссылаются на неё без алиаса: search_vector есть только в таблице events.
+ * Единственный аргумент — строка запроса to_tsquery.
+ */
+public class EventSearchFunctions implements FunctionContributor {
+    public static final String FTS_MATCH = "event_fts_match";
+    public static final String FTS_RANK = "event_fts_rank";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicType<Boolean> booleanType = functionContributions.getTypeConfiguration()
+                .getBasicTypeRegistry().resolve(StandardBasicTypes.BOOLEAN);
+        BasicType<Double> doubleType = functionContributions.getTypeConfiguration()
+                .getBasicTypeRegistry().resolve(StandardBasicTypes.DOUBLE);
+
+        functionContributions.getFunctionRegistry().registerPattern(FTS_MATCH,
+                "(search_vector @@ to_tsquery('simple', ?1))", booleanType);
+        functionContributions.getFunctionRegistry().registerPattern(FTS_RANK,
+                "ts_rank_cd(search_vector, to_tsquery('simple', ?1))", doubleType);
+    }
+}
@@ -2,10 +2,13 @@ package event.dal.repository.specification;
 
 import event.dal.entity.Event;
 import event.dal.entity.EventState;
+import jakarta.persistence.criteria.Expression;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 public class EventSpecifications {
 
@@ -14,6 +17,7 @@ public class EventSpecifications {
                 criteriaBuilder.equal(root.get("state"), EventState.PUBLISHED.toString());
     }
 
+    // Поиск подстроки; lower(...) LIKE '%text%' обслуживается триграммными индексами idx_events_*_trgm из миграций db/migration
     public static Specification<Event> containsText(String text) {
         return (root, query, criteriaBuilder) -> {
             if (text == null || text.trim().isEmpty()) {
@@ -27,6 +31,39 @@ public class EventSpecifications {
         };
     }
 
+    // Префиксный полнотекстовый поиск по GIN-индексу с сортировкой по релевантности.
+    // Сортировка по релевантности действует, только если у запроса нет своей: Spring Data заменяет её сортировкой
+    // из Pageable или Window, поэтому в публичном поиске ранжируются страницы по from/size без sort=VIEWS
+    public static Specification<Event> matchesFullText(String text) {
+        String tsQuery = toPrefixTsQuery(text);
+        if (tsQuery.isEmpty()) {
+            return containsText(text);
+        }
+
+        return (root, query, criteriaBuilder) -> {
+            Expression<String> tsQueryParam = criteriaBuilder.literal(tsQuery);
+            // Для запроса количества сортировка не нужна
+            if (!Long.class.equals(query.getResultType()) && !long.class.equals(query.getResultType())) {
+                query.orderBy(
+                        criteriaBuilder.desc(criteriaBuilder.function(EventSearchFunctions.FTS_RANK, Double.class,
+                                tsQueryParam)),
+                        criteriaBuilder.asc(root.get("id")));
+            }
+            return criteriaBuilder.isTrue(criteriaBuilder.function(EventSearchFunctions.FTS_MATCH, Boolean.class,
+                    tsQueryParam));
+        };
+    }
+
+    private static String toPrefixTsQuery(String text) {
+        if (text == null) {
+            return "";
+        }
+        return Arrays.stream(text.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
     public static Specification<Event> hasCategories(List<Long> categoryIds) {
         return (root, query, criteriaBuilder) -> {
             if (categoryIds == null || categoryIds.isEmpty()) {
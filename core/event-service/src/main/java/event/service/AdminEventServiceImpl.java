@@ -7,6 +7,7 @@ import event.dal.entity.Event;
 import event.dal.entity.EventState;
 import enums.StateAction;
 import event.dal.mapper.EventMapper;
+import event.dal.repository.CompilationRepository;
 import event.dal.repository.EventRepository;
 import event.dal.repository.specification.EventSpecifications;
 import lombok.RequiredArgsConstructor;
@@ -31,6 +32,9 @@ public class AdminEventServiceImpl implements AdminEventService {
     private final EventRepository eventRepository;
     private final EventMapper eventMapper;
     private final EventStatsService eventStatsService;
+    private final CompilationRepository compilationRepository;
+    private final CompilationViewCache compilationViewCache;
+    private final EventCacheInvalidator eventCacheInvalidator;
 
     @Override
     @Transactional(readOnly = true)
@@ -98,6 +102,8 @@ public class AdminEventServiceImpl implements AdminEventService {
         eventMapper.updateEventFromAdminRequest(request, event);
 
         Event updatedEvent = eventRepository.save(event);
+        compilationViewCache.invalidateAfterCommit(compilationRepository.findIdsByEventId(eventId));
+        eventCacheInvalidator.invalidateAfterCommit(eventId);
         log.info("Событие обновлено администратором: ID={}, новое состояние={}", eventId, updatedEvent.getState());
 
         return eventStatsService.enrichEventFullDto(updatedEvent, eventMapper);
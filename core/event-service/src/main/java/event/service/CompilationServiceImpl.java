@@ -25,7 +25,10 @@ import util.exception.NotFoundException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -37,6 +40,7 @@ public class CompilationServiceImpl implements CompilationService {
     private final EventRepository eventRepository;
     private final CompilationMapper compilationMapper;
     private final EventStatsService eventStatsService;
+    private final CompilationViewCache compilationViewCache;
 
     @Override
     @Transactional
@@ -44,7 +48,6 @@ public class CompilationServiceImpl implements CompilationService {
         log.debug("Создание новой компиляции: title={}", request.getTitle());
 
         Compilation compilation = compilationMapper.toEntity(request);
-        List<Long> eventIds = new ArrayList<>();
         if (request.getEvents() != null && !request.getEvents().isEmpty()) {
             List<Long> events = eventRepository.findAllById(new ArrayList<>(request.getEvents())).stream()
                     .map(Event::getId).toList();
@@ -54,7 +57,6 @@ public class CompilationServiceImpl implements CompilationService {
                         request.getEvents().size(), events.size());
                 throw new NotFoundException("Некоторые события не найдены");
             }
-            eventIds.addAll(events);
             compilation.setEvents(new HashSet<>(events));
             log.debug("Добавлено событий в компиляцию: {}", events.size());
         } else {
@@ -66,10 +68,7 @@ public class CompilationServiceImpl implements CompilationService {
             log.info("Создана новая компиляция: ID={}, title={}, событий={}",
                     savedCompilation.getId(), savedCompilation.getTitle(), savedCompilation.getEvents().size());
 
-            Set<EventShortDto> events = eventRepository.findAllById(eventIds).stream()
-                    .map(event ->  eventStatsService.enrichEventShortDto(event, EventMapper.INSTANCE))
-                    .collect(Collectors.toSet());
-            return compilationMapper.toDto(savedCompilation, events);
+            return renderCompilations(List.of(savedCompilation)).getFirst();
         } catch (DataIntegrityViolationException e) {
             log.warn("Попытка создания компиляции с существующим названием: {}", request.getTitle());
             throw new ConflictException("Компиляция с названием уже существует: " + request.getTitle());
@@ -97,7 +96,6 @@ public class CompilationServiceImpl implements CompilationService {
             log.debug("Обновлен статус закрепления: {}", request.getPinned());
         }
 
-        List<Long> eventIds = new ArrayList<>();
         if (request.getEvents() != null) {
             if (request.getEvents().isEmpty()) {
                 compilation.setEvents(new HashSet<>());
@@ -111,7 +109,6 @@ public class CompilationServiceImpl implements CompilationService {
                             request.getEvents().size(), events.size());
                     throw new NotFoundException("Некоторые события не найдены");
                 }
-                eventIds.addAll(events);
                 compilation.setEvents(new HashSet<>(events));
                 log.debug("Обновлены события компиляции: количество={}", events.size());
             }
@@ -119,12 +116,10 @@ public class CompilationServiceImpl implements CompilationService {
 
         try {
             Compilation updatedCompilation = compilationRepository.save(compilation);
+            compilationViewCache.invalidateAfterCommit(List.of(compId));
             log.info("Компиляция обновлена: ID={}, title={}, событий={}",
                     compId, updatedCompilation.getTitle(), updatedCompilation.getEvents().size());
-            Set<EventShortDto> events = eventRepository.findAllById(eventIds).stream()
-                    .map(event ->  eventStatsService.enrichEventShortDto(event, EventMapper.INSTANCE))
-                    .collect(Collectors.toSet());
-            return compilationMapper.toDto(updatedCompilation, events);
+            return renderCompilations(List.of(updatedCompilation)).getFirst();
         } catch (DataIntegrityViolationException e) {
             log.warn("Попытка обновления на существующее название: {}", request.getTitle());
             throw new ConflictException("Компиляция с названием уже существует: " + request.getTitle());
@@ -142,6 +137,7 @@ public class CompilationServiceImpl implements CompilationService {
         }
 
         compilationRepository.deleteById(compId);
+        compilationViewCache.invalidateAfterCommit(List.of(compId));
         log.info("Компиляция удалена: ID={}", compId);
     }
 
@@ -161,23 +157,60 @@ public class CompilationServiceImpl implements CompilationService {
             compilationsPage = compilationRepository.findAll(sortedPageable);
         }
 
-        return compilationsPage.getContent().stream()
-                .map(compilation -> {
-                    Set<EventShortDto> events = eventRepository.findAllById(compilation.getEvents()).stream()
-                            .map(event -> eventStatsService.enrichEventShortDto(event, EventMapper.INSTANCE))
-                            .collect(Collectors.toSet());
-                    return compilationMapper.toDto(compilation, events);
-                })
+        List<Long> compilationIds = compilationsPage.getContent().stream()
+                .map(Compilation::getId)
+                .toList();
+        if (compilationIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, CompilationResponse> compilations =
+                compilationViewCache.getAll(compilationIds, this::loadCompilations);
+        return compilationIds.stream()
+                .map(compilations::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
     @Override
     public CompilationResponse getCompilationById(Long compId) {
-        Compilation compilation = compilationRepository.findById(compId)
-                .orElseThrow(() -> new NotFoundException("Компиляция с идентификатором не найдена: " + compId));
-        Set<EventShortDto> events = eventRepository.findAllById(compilation.getEvents()).stream()
-                .map(event -> eventStatsService.enrichEventShortDto(event, EventMapper.INSTANCE))
-                .collect(Collectors.toSet());
-        return compilationMapper.toDto(compilation,  events);
+        CompilationResponse compilation = compilationViewCache.getAll(List.of(compId), this::loadCompilations)
+                .get(compId);
+        if (compilation == null) {
+            throw new NotFoundException("Компиляция с идентификатором не найдена: " + compId);
+        }
+        return compilation;
+    }
+
+    private Map<Long, CompilationResponse> loadCompilations(List<Long> compilationIds) {
+        return renderCompilations(compilationRepository.findAllWithEventsByIdIn(compilationIds)).stream()
+                .collect(Collectors.toMap(CompilationResponse::getId, Function.identity()));
+    }
+
+    /**
+     * Загружает события всех подборок одним запросом и обогащает их одним пакетом,
+     * поэтому число удалённых вызовов не зависит от количества подборок и событий.
+     */
+    private List<CompilationResponse> renderCompilations(List<Compilation> compilations) {
+        List<Long> eventIds = compilations.stream()
+                .flatMap(compilation -> compilation.getEvents().stream())
+                .distinct()
+                .toList();
+
+        Map<Long, EventShortDto> eventsById = eventIds.isEmpty() ? Map.of() :
+                eventStatsService.enrichEventsShortDtoBatch(
+                                eventRepository.findAllByIdWithCategoryAndInitiator(eventIds), EventMapper.INSTANCE)
+                        .stream()
+                        .collect(Collectors.toMap(EventShortDto::getId, Function.identity()));
+
+        return compilations.stream()
+                .map(compilation -> {
+                    Set<EventShortDto> events = compilation.getEvents().stream()
+                            .map(eventsById::get)
+                            .filter(Objects::nonNull)
+                            .collect(Collectors.toSet());
+                    return compilationMapper.toDto(compilation, events);
+                })
+                .collect(Collectors.toList());
     }
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package event.service;
+
+import dto.compilation.CompilationResponse;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import util.cache.TtlCache;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Кэш полностью собранных подборок. Счётчики просмотров и подтверждённых заявок внутри подборки
+ * обновляются по короткому TTL, изменения самих подборок и входящих в них событий сбрасывают записи.
+ */
+@Component
+public class CompilationViewCache {
+    private final TtlCache<Long, CompilationResponse> cache;
+    private final ExecutorService refreshExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public CompilationViewCache(@Value("${compilations.cache.max-size:1000}") int maxSize,
+                                @Value("${compilations.cache.fresh-ttl-ms:10000}") long freshTtlMs,
+                                @Value("${compilations.cache.stale-ttl-ms:60000}") long staleTtlMs,
+                                MeterRegistry meterRegistry) {
+        this.cache = new TtlCache<>(maxSize, freshTtlMs, staleTtlMs);
+
+        FunctionCounter.builder("compilations.cache.hits", cache, TtlCache::getHitCount)
+                .register(meterRegistry);
+        FunctionCounter.builder("compilations.cache.stale.hits", cache, TtlCache::getStaleHitCount)
+                .register(meterRegistry);
+        FunctionCounter.builder("compilations.cache.misses", cache, TtlCache::getMissCount)
+                .register(meterRegistry);
+        Gauge.builder("compilations.cache.size", cache, TtlCache::size)
+                .register(meterRegistry);
+    }
+
+    public Map<Long, CompilationResponse> getAll(List<Long> compilationIds,
+                                                 Function<List<Long>, Map<Long, CompilationResponse>> loader) {
+        return cache.getAll(compilationIds, loader, refreshExecutor);
+    }
+
+    /**
+     * Сбрасывает записи после фиксации текущей транзакции. Загрузки, начатые до сброса, свои результаты
+     * не кэшируют (см. {@link TtlCache}), поэтому параллельное чтение не вернёт в кэш состояние до коммита.
+     */
+    public void invalidateAfterCommit(Collection<Long> compilationIds) {
+        if (compilationIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(compilationIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidateAll(ids);
+                }
+            });
+        } else {
+            cache.invalidateAll(ids);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+}
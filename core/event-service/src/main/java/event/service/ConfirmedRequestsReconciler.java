@@ -0,0 +1,57 @@
+package event.service;
+
+import dto.request.EventConfirmedRequestsDto;
+import event.dal.repository.EventRepository;
+import feign.request.RequestClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Сверяет счётчик подтверждённых заявок событий с request-service при старте.
+ * В штатном режиме счётчик обновляет сам request-service при смене статусов заявок; значения сверки
+ * и доставки несут версию, поэтому сверка не перезапишет более свежее значение, пришедшее из outbox.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ConfirmedRequestsReconciler {
+    private final EventRepository eventRepository;
+    private final RequestClient requestClient;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${events.confirmed-requests.reconcile-on-startup:true}")
+    private boolean reconcileOnStartup;
+
+    @Value("${events.confirmed-requests.reconcile-batch-size:500}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (reconcileOnStartup) {
+            Thread.ofVirtual().name("confirmed-requests-reconciler").start(this::reconcile);
+        }
+    }
+
+    public void reconcile() {
+        try {
+            List<Long> eventIds = eventRepository.findAllIds();
+            for (int from = 0; from < eventIds.size(); from += batchSize) {
+                List<Long> chunk = eventIds.subList(from, Math.min(from + batchSize, eventIds.size()));
+                List<EventConfirmedRequestsDto> counts = requestClient.getRequestsByEventIds(chunk);
+                transactionTemplate.executeWithoutResult(status -> counts.forEach(dto ->
+                        eventRepository.updateConfirmedRequests(dto.getEventId(), dto.getConfirmedCount(),
+                                dto.getVersion())));
+            }
+            log.info("Сверены подтвержденные заявки для {} событий", eventIds.size());
+        } catch (Exception e) {
+            log.warn("Не удалось сверить подтвержденные заявки: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package event.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Запускает независимые удалённые вызовы обогащения событий параллельно на виртуальных потоках.
+ * Вызов, упавший или не уложившийся в таймаут, заменяется запасным значением, чтобы ответ собрался частично.
+ */
+@Component
+@Slf4j
+public class EnrichmentExecutor {
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final MeterRegistry meterRegistry;
+    private final long timeoutMs;
+
+    public EnrichmentExecutor(MeterRegistry meterRegistry,
+                              @Value("${enrichment.timeout-ms:3000}") long timeoutMs) {
+        this.meterRegistry = meterRegistry;
+        this.timeoutMs = timeoutMs;
+    }
+
+    public <T> CompletableFuture<T> submit(String leg, Supplier<T> call, T fallback) {
+        Timer timer = Timer.builder("event.enrichment.leg")
+                .tag("leg", leg)
+                .register(meterRegistry);
+
+        return CompletableFuture.supplyAsync(() -> {
+                    long startNanos = System.nanoTime();
+                    try {
+                        return call.get();
+                    } finally {
+                        long elapsedNanos = System.nanoTime() - startNanos;
+                        timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+                        log.debug("Обогащение событий: {} заняло {} мс", leg,
+                                TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+                    }
+                }, executor)
+                .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    log.warn("Обогащение событий: {} не выполнено, используется запасное значение: {}",
+                            leg, e.toString());
+                    return fallback;
+                });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,32 @@
+package event.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import util.cache.PeerCacheInvalidator;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * После изменения события сбрасывает его метаданные (лимит участников, модерация, состояние)
+ * в кэшах сервисов, которые по ним принимают заявки.
+ */
+@Component
+public class EventCacheInvalidator {
+    private final PeerCacheInvalidator invalidator;
+
+    public EventCacheInvalidator(DiscoveryClient discoveryClient,
+                                 RestClient.Builder restClientBuilder,
+                                 @Value("${events.cache.subscribers:request-service,comment-service}")
+                                 List<String> subscribers,
+                                 @Value("${events.cache.invalidation-timeout-ms:1000}") long timeoutMs) {
+        this.invalidator = new PeerCacheInvalidator(discoveryClient, restClientBuilder, subscribers,
+                "/api/cache/events", Duration.ofMillis(timeoutMs));
+    }
+
+    public void invalidateAfterCommit(Long eventId) {
+        invalidator.invalidateAfterCommit(eventId);
+    }
+}
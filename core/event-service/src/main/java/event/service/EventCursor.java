@@ -0,0 +1,74 @@
+package event.service;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Непрозрачный курсор keyset-пагинации публичного поиска событий: значения ключей сортировки последнего
+ * отданного события, (eventDate, id) или (views, id) для sort=VIEWS. Пустой курсор означает первую страницу.
+ * Курсор по views приблизительный: проекция просмотров обновляется между запросами страниц, поэтому событие,
+ * чьи просмотры выросли, может не попасть ни на одну страницу или попасть на две.
+ * Набор ключей курсора определяется сортировкой, поэтому курсор, выданный для другой сортировки, отклоняется.
+ */
+public final class EventCursor {
+    static final String EVENT_DATE = "eventDate";
+    static final String VIEWS = "views";
+    static final String ID = "id";
+
+    private EventCursor() {
+    }
+
+    public static Sort sortFor(String sort) {
+        return "VIEWS".equals(sort)
+                ? Sort.by(Sort.Direction.DESC, VIEWS, ID)
+                : Sort.by(Sort.Direction.ASC, EVENT_DATE, ID);
+    }
+
+    public static String encode(ScrollPosition position) {
+        String raw = ((KeysetScrollPosition) position).getKeys().entrySet().stream()
+                .map(key -> key.getKey() + "=" + key.getValue())
+                .collect(Collectors.joining(","));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetScrollPosition decode(String cursor, String sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        Map<String, Object> keys = decodeKeys(cursor);
+        List<String> sortKeys = sortFor(sort).stream().map(Sort.Order::getProperty).toList();
+        if (!List.copyOf(keys.keySet()).equals(sortKeys)) {
+            throw new IllegalArgumentException("Курсор выдан для другой сортировки, ожидаются ключи " + sortKeys
+                    + ": " + cursor);
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    private static Map<String, Object> decodeKeys(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (String part : raw.split(",")) {
+                String[] keyValue = part.split("=", 2);
+                keys.put(keyValue[0], switch (keyValue[0]) {
+                    case EVENT_DATE -> LocalDateTime.parse(keyValue[1]);
+                    case VIEWS, ID -> Long.parseLong(keyValue[1]);
+                    default -> throw new IllegalArgumentException(keyValue[0]);
+                });
+            }
+            return keys;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Некорректный курсор: " + cursor);
+        }
+    }
+}
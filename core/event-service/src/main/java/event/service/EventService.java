@@ -1,7 +1,10 @@
 package event.service;
 
 import dto.event.*;
+import dto.request.EventConfirmedRequestsDto;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 
 import java.util.List;
 import java.util.Set;
@@ -17,9 +20,16 @@ public interface EventService {
 
     List<EventShortDto> getPublicEvents(PublicEventSearchRequest requestParams, Pageable pageable, String ip);
 
+    Window<EventShortDto> getPublicEvents(PublicEventSearchRequest requestParams, ScrollPosition position,
+                                          int size, String ip);
+
     EventFullDto getPublicEventById(Long eventId, String ip);
 
-    EventFullDto getEventById(Long eventId);
+    EventFullDto getEventById(Long eventId, Set<EventField> fields);
+
+    List<EventFullDto> getEvents(List<Long> ids, Set<EventField> fields);
+
+    EventMetadataDto getEventMetadata(Long eventId);
 
-    List<EventFullDto> getEvents(Set<Long> ids);
+    void updateConfirmedRequests(List<EventConfirmedRequestsDto> confirmedRequests);
 }
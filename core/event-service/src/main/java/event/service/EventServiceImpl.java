@@ -1,19 +1,24 @@
 package event.service;
 
 import dto.event.*;
+import dto.request.EventConfirmedRequestsDto;
 import dto.user.UserShortDto;
 import event.dal.entity.Event;
 import event.dal.entity.EventState;
 import enums.StateAction;
 import event.dal.mapper.EventMapper;
+import event.dal.repository.CompilationRepository;
 import event.dal.repository.EventRepository;
 import event.dal.repository.specification.EventSpecifications;
-import feign.user.UserClient;
+import feign.user.UserCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,9 +26,10 @@ import util.exception.NotFoundException;
 import event.validation.EventValidationUtils;
 
 import java.time.LocalDateTime;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -34,13 +40,19 @@ public class EventServiceImpl implements EventService {
 
     private final EventRepository eventRepository;
     private final EventMapper eventMapper;
-    private final UserClient userClient;
+    private final UserCache userCache;
     private final EventStatsService eventStatsService;
+    private final CompilationRepository compilationRepository;
+    private final CompilationViewCache compilationViewCache;
+    private final EventCacheInvalidator eventCacheInvalidator;
+
+    @Value("${events.search.full-text-min-length:4}")
+    private int fullTextMinLength;
 
     @Override
     @Transactional(readOnly = true)
     public List<EventShortDto> getEvents(Long userId, Pageable pageable) {
-        userClient.getById(userId);
+        userCache.getById(userId);
         Page<Event> eventsPage = eventRepository.findAllByInitiatorOrderByCreatedAtDesc(userId, pageable);
 
         return eventStatsService.enrichEventsShortDtoBatch(eventsPage.getContent(), eventMapper);
@@ -49,7 +61,7 @@ public class EventServiceImpl implements EventService {
     @Override
     @Transactional(readOnly = true)
     public EventFullDto getEvent(Long userId, Long eventId, String ip) {
-        userClient.getById(userId);
+        userCache.getById(userId);
         Event event = eventRepository.findByIdAndInitiator(eventId, userId)
                 .orElseThrow(() -> new NotFoundException("Event not found"));
 
@@ -70,7 +82,7 @@ public class EventServiceImpl implements EventService {
 
         Event savedEvent = eventRepository.save(event);
 
-        UserShortDto user = userClient.getById(userId);
+        UserShortDto user = userCache.getById(userId);
 
         EventFullDto eventDto = eventMapper.toFullDto(savedEvent, user);
         eventDto.setConfirmedRequests(0L);
@@ -81,7 +93,7 @@ public class EventServiceImpl implements EventService {
     @Override
     @Transactional
     public EventFullDto updateEvent(Long userId, Long eventId, UpdateEventUserRequest request) {
-        userClient.getById(userId);
+        userCache.getById(userId);
         Event event = eventRepository.findByIdAndInitiator(eventId, userId)
                 .orElseThrow(() -> new NotFoundException("Event not found"));
 
@@ -93,6 +105,8 @@ public class EventServiceImpl implements EventService {
         updateEventState(event, request);
 
         Event updatedEvent = eventRepository.save(event);
+        compilationViewCache.invalidateAfterCommit(compilationRepository.findIdsByEventId(eventId));
+        eventCacheInvalidator.invalidateAfterCommit(eventId);
         return eventStatsService.enrichEventFullDto(updatedEvent, eventMapper);
     }
 
@@ -104,12 +118,44 @@ public class EventServiceImpl implements EventService {
 
         Specification<Event> spec = buildPublicEventsSpecification(requestParams);
 
+        // Просмотры сортируются в БД только по индексируемой проекции: пересортировка страницы по актуальным
+        // значениям нарушала бы порядок между страницами
+        if ("VIEWS".equals(requestParams.getSort())) {
+            pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                    EventCursor.sortFor(requestParams.getSort()));
+        }
+
         List<Event> events = eventRepository.findAll(spec, pageable).getContent();
         List<EventShortDto> result = eventStatsService.enrichEventsShortDtoBatch(events, eventMapper);
 
         eventStatsService.recordHit(ENDPOINT, ip);
 
-        return sortEvents(result, requestParams.getSort());
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Window<EventShortDto> getPublicEvents(PublicEventSearchRequest requestParams, ScrollPosition position,
+                                                 int size, String ip) {
+
+        EventValidationUtils.validateDateRange(requestParams.getRangeStart(), requestParams.getRangeEnd());
+
+        Specification<Event> spec = buildPublicEventsSpecification(requestParams);
+
+        // Keyset-чтение по (eventDate, id) или (views, id): без COUNT и без OFFSET,
+        // поэтому глубина страницы не влияет на время
+        Window<Event> window = eventRepository.findBy(spec, query -> query
+                .sortBy(EventCursor.sortFor(requestParams.getSort()))
+                .limit(size)
+                .scroll(position));
+
+        Map<Long, EventShortDto> dtoById = eventStatsService.enrichEventsShortDtoBatch(window.getContent(), eventMapper)
+                .stream()
+                .collect(Collectors.toMap(EventShortDto::getId, Function.identity()));
+
+        eventStatsService.recordHit(ENDPOINT, ip);
+
+        return window.map(event -> dtoById.get(event.getId()));
     }
 
     @Override
@@ -124,16 +170,31 @@ public class EventServiceImpl implements EventService {
     }
 
     @Override
-    public EventFullDto getEventById(Long eventId) {
-        Event event = eventRepository.findById(eventId)
+    public EventFullDto getEventById(Long eventId, Set<EventField> fields) {
+        Event event = eventRepository.findByIdWithCategoryAndInitiator(eventId)
                 .orElseThrow(() -> new NotFoundException("Event not found"));
 
-        return eventStatsService.enrichEventFullDto(event, eventMapper);
+        return eventStatsService.enrichEventsFullDtoBatch(List.of(event), eventMapper, fields).getFirst();
     }
 
     @Override
-    public List<EventFullDto> getEvents(Set<Long> ids) {
-        return eventStatsService.enrichEventsFullDto(ids, eventMapper);
+    public EventMetadataDto getEventMetadata(Long eventId) {
+        return eventRepository.findById(eventId)
+                .map(eventMapper::toMetadataDto)
+                .orElseThrow(() -> new NotFoundException("Event not found"));
+    }
+
+    @Override
+    public List<EventFullDto> getEvents(List<Long> ids, Set<EventField> fields) {
+        return eventStatsService.enrichEventsFullDtoBatch(
+                eventRepository.findAllByIdWithCategoryAndInitiator(ids), eventMapper, fields);
+    }
+
+    @Override
+    @Transactional
+    public void updateConfirmedRequests(List<EventConfirmedRequestsDto> confirmedRequests) {
+        confirmedRequests.forEach(dto ->
+                eventRepository.updateConfirmedRequests(dto.getEventId(), dto.getConfirmedCount(), dto.getVersion()));
     }
 
 
@@ -141,7 +202,7 @@ public class EventServiceImpl implements EventService {
         Specification<Event> spec = Specification.where(EventSpecifications.isPublished());
 
         if (params.getText() != null && !params.getText().trim().isEmpty()) {
-            spec = spec.and(EventSpecifications.containsText(params.getText()));
+            spec = spec.and(textSearchSpecification(params.getText().trim()));
         }
 
         if (params.getCategories() != null && !params.getCategories().isEmpty()) {
@@ -170,6 +231,15 @@ public class EventServiceImpl implements EventService {
         return spec;
     }
 
+    // Короткие запросы обычно являются куском слова: для них точнее поиск подстроки по триграммному индексу,
+    // для длинных — полнотекстовый поиск по GIN-индексу (см. TextSearchMode)
+    private Specification<Event> textSearchSpecification(String text) {
+        return switch (TextSearchMode.of(text, fullTextMinLength)) {
+            case FULL_TEXT -> EventSpecifications.matchesFullText(text);
+            case SUBSTRING -> EventSpecifications.containsText(text);
+        };
+    }
+
     private Pageable createPageable(Integer from, Integer size, String sort) {
         int pageSize = size != null ? Math.max(1, size) : 10;
         int pageFrom = from != null ? Math.max(0, from) : 0;
@@ -182,15 +252,6 @@ public class EventServiceImpl implements EventService {
         return PageRequest.of(page, pageSize, sorting);
     }
 
-    private List<EventShortDto> sortEvents(List<EventShortDto> events, String sort) {
-        if ("VIEWS".equals(sort)) {
-            return events.stream()
-                    .sorted(Comparator.comparing(EventShortDto::getViews).reversed())
-                    .collect(Collectors.toList());
-        }
-        return events;
-    }
-
     private void updateEventState(Event event, UpdateEventUserRequest request) {
         if (request.getStateAction() != null) {
             StateAction stateAction = StateAction.valueOf(request.getStateAction());
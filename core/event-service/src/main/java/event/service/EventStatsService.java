@@ -1,15 +1,14 @@
 package event.service;
 
 import client.StatsClient;
+import dto.event.EventField;
 import dto.event.EventFullDto;
 import dto.event.EventShortDto;
-import dto.request.EventConfirmedRequestsDto;
 import dto.user.UserShortDto;
 import event.dal.entity.Event;
 import event.dal.mapper.EventMapper;
 import event.dal.repository.EventRepository;
-import feign.request.RequestClient;
-import feign.user.UserClient;
+import feign.user.UserCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import model.EndpointHitDto;
@@ -17,8 +16,14 @@ import model.ViewStatsDto;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,24 +32,38 @@ import java.util.stream.Collectors;
 public class EventStatsService {
     private static final String ENDPOINT = "/events";
     private static final String APP_NAME = "ewm-main-service";
+    private static final int URIS_PER_REQUEST = 200;
 
     private final StatsClient statsClient;
-    private final RequestClient requestClient;
-    private final UserClient userClient;
+    private final UserCache userCache;
     private final EventRepository eventRepository;
+    private final EventViewsCache eventViewsCache;
+    private final EnrichmentExecutor enrichmentExecutor;
+
+    private final AtomicReference<LocalDateTime> statsStart = new AtomicReference<>();
 
     public Map<Long, Long> getViewsForEventsBatch(List<Long> eventIds) {
         if (eventIds.isEmpty()) {
             return Map.of();
         }
 
+        Map<Long, Long> viewsMap = eventIds.stream()
+                .distinct()
+                .collect(Collectors.toMap(id -> id, id -> 0L));
+        viewsMap.putAll(eventViewsCache.getAll(List.copyOf(viewsMap.keySet()), this::loadViews));
+        return viewsMap;
+    }
+
+    private Map<Long, Long> loadViews(List<Long> eventIds) {
         List<String> uris = eventIds.stream()
                 .map(id -> ENDPOINT + "/" + id)
                 .collect(Collectors.toList());
 
-        LocalDateTime start = eventRepository.findFirstByOrderByCreatedAtAsc().getCreatedAt();
+        LocalDateTime start = getStatsStart();
         LocalDateTime end = LocalDateTime.now();
 
+        // Если начало периода старше срока хранения сырых хитов, сервис статистики вместо точного подсчёта
+        // возвращает оценку по скетчам с approximate = true
         List<ViewStatsDto> stats = statsClient.getStats(start, end, uris, true);
 
         Map<Long, Long> viewsMap = eventIds.stream()
@@ -62,6 +81,81 @@ public class EventStatsService {
         return viewsMap;
     }
 
+    // Приблизительные (HLL) уникальные просмотры всех событий одним запросом к сервису статистики
+    public Map<Long, Long> getApproximateViewsForAllEvents() {
+        LocalDateTime start = getStatsStart();
+        if (start == null) {
+            return Map.of();
+        }
+
+        List<ViewStatsDto> stats = statsClient.getStats(start, LocalDateTime.now(), null, true, true);
+
+        Map<Long, Long> viewsMap = new HashMap<>();
+        if (stats != null) {
+            stats.forEach(stat -> {
+                Long eventId = extractEventIdFromUri(stat.getUri());
+                if (eventId != -1L) {
+                    viewsMap.put(eventId, stat.getHits());
+                }
+            });
+        }
+        return viewsMap;
+    }
+
+    // События, по которым были просмотры начиная с since; неуникальные хиты берутся из агрегатов и дёшевы
+    public Set<Long> getViewedEventIdsSince(LocalDateTime since) {
+        List<ViewStatsDto> stats = statsClient.getStats(since, LocalDateTime.now(), null, false);
+        if (stats == null) {
+            return Set.of();
+        }
+        return stats.stream()
+                .map(stat -> extractEventIdFromUri(stat.getUri()))
+                .filter(eventId -> eventId != -1L)
+                .collect(Collectors.toSet());
+    }
+
+    // Приблизительные (HLL) уникальные просмотры только указанных событий, пачками по URIS_PER_REQUEST
+    public Map<Long, Long> getApproximateViewsForEvents(Collection<Long> eventIds) {
+        LocalDateTime start = getStatsStart();
+        if (start == null || eventIds.isEmpty()) {
+            return Map.of();
+        }
+
+        LocalDateTime end = LocalDateTime.now();
+        List<String> uris = eventIds.stream()
+                .map(id -> ENDPOINT + "/" + id)
+                .toList();
+        Map<Long, Long> viewsMap = new HashMap<>();
+        for (int from = 0; from < uris.size(); from += URIS_PER_REQUEST) {
+            List<ViewStatsDto> stats = statsClient.getStats(start, end,
+                    uris.subList(from, Math.min(from + URIS_PER_REQUEST, uris.size())), true, true);
+            if (stats != null) {
+                stats.forEach(stat -> {
+                    Long eventId = extractEventIdFromUri(stat.getUri());
+                    if (eventId != -1L) {
+                        viewsMap.put(eventId, stat.getHits());
+                    }
+                });
+            }
+        }
+        return viewsMap;
+    }
+
+    // Самое раннее событие не меняется: новые события создаются позже, а события не удаляются.
+    // Пока событий нет, возвращается null
+    private LocalDateTime getStatsStart() {
+        LocalDateTime start = statsStart.get();
+        if (start == null) {
+            Event first = eventRepository.findFirstByOrderByCreatedAtAsc();
+            if (first == null) {
+                return null;
+            }
+            start = first.getCreatedAt();
+            statsStart.compareAndSet(null, start);
+        }
+        return start;
+    }
+
     public void recordHit(String path, String ip) {
         EndpointHitDto dto = EndpointHitDto.builder()
                 .uri(path)
@@ -77,56 +171,22 @@ public class EventStatsService {
             return Map.of();
         }
 
-        List<EventConfirmedRequestsDto> results = requestClient.getRequestsByEventIds(eventIds);
-
         Map<Long, Long> confirmedRequestsMap = eventIds.stream()
+                .distinct()
                 .collect(Collectors.toMap(id -> id, id -> 0L));
 
-        results.forEach(dto -> confirmedRequestsMap.put(dto.getEventId(), dto.getConfirmedCount()));
+        eventRepository.findAllById(confirmedRequestsMap.keySet())
+                .forEach(event -> confirmedRequestsMap.put(event.getId(), event.getConfirmedRequests()));
 
-        log.debug("Получены подтвержденные запросы для {} событий", results.size());
         return confirmedRequestsMap;
     }
 
     public EventFullDto enrichEventFullDto(Event event, EventMapper eventMapper) {
-        UserShortDto user = userClient.getById(event.getInitiator());
-        EventFullDto dto = eventMapper.toFullDto(event, user);
-        Map<Long, Long> confirmedRequests = getConfirmedRequestsBatch(List.of(event.getId()));
-        Map<Long, Long> views = getViewsForEventsBatch(List.of(event.getId()));
-
-        dto.setConfirmedRequests(confirmedRequests.getOrDefault(event.getId(), 0L));
-        dto.setViews(views.getOrDefault(event.getId(), 0L));
-        return dto;
-    }
-
-    public List<EventFullDto> enrichEventsFullDto(Iterable<Long> ids, EventMapper eventMapper) {
-        List<Event> events = eventRepository.findAllById(ids);
-        Map<Long, UserShortDto> users = userClient.getByIds(
-                events.stream().map(Event::getInitiator).toList()
-        );
-
-        Map<Long, Long> confirmedRequests = getConfirmedRequestsBatch((List<Long>) ids);
-        Map<Long, Long> views = getViewsForEventsBatch((List<Long>) ids);
-
-        return events.stream()
-                .map(event -> {
-                    EventFullDto dto = eventMapper.toFullDto(event, users.get(event.getInitiator()));
-                    dto.setViews(views.getOrDefault(event.getId(), 0L));
-                    dto.setConfirmedRequests(confirmedRequests.getOrDefault(event.getId(), 0L));
-                    return dto;
-                })
-                .toList();
+        return enrichEventsFullDtoBatch(List.of(event), eventMapper).getFirst();
     }
 
     public EventShortDto enrichEventShortDto(Event event, EventMapper eventMapper) {
-        UserShortDto user = userClient.getById(event.getInitiator());
-        EventShortDto dto = eventMapper.toShortDto(event, user);
-        Map<Long, Long> confirmedRequests = getConfirmedRequestsBatch(List.of(event.getId()));
-        Map<Long, Long> views = getViewsForEventsBatch(List.of(event.getId()));
-
-        dto.setConfirmedRequests(confirmedRequests.getOrDefault(event.getId(), 0L));
-        dto.setViews(views.getOrDefault(event.getId(), 0L));
-        return dto;
+        return enrichEventsShortDtoBatch(List.of(event), eventMapper).getFirst();
     }
 
     private Long extractEventIdFromUri(String uri) {
@@ -138,23 +198,23 @@ public class EventStatsService {
     }
 
     public List<EventFullDto> enrichEventsFullDtoBatch(List<Event> events, EventMapper eventMapper) {
+        return enrichEventsFullDtoBatch(events, eventMapper, EnumSet.allOf(EventField.class));
+    }
+
+    // Незапрошенные поля не обогащаются: у инициатора остаётся только id, просмотры не заполняются
+    public List<EventFullDto> enrichEventsFullDtoBatch(List<Event> events, EventMapper eventMapper,
+                                                       Set<EventField> fields) {
         if (events.isEmpty()) {
             return List.of();
         }
 
-        List<Long> eventIds = events.stream()
-                .map(Event::getId)
-                .collect(Collectors.toList());
-
-        Map<Long, Long> confirmedRequestsMap = getConfirmedRequestsBatch(eventIds);
-        Map<Long, Long> viewsMap = getViewsForEventsBatch(eventIds);
+        EnrichmentData data = fetchEnrichmentData(events, fields);
 
         return events.stream()
                 .map(event -> {
-                    UserShortDto user = userClient.getById(event.getInitiator());
-                    EventFullDto dto = eventMapper.toFullDto(event, user);
-                    dto.setConfirmedRequests(confirmedRequestsMap.getOrDefault(event.getId(), 0L));
-                    dto.setViews(viewsMap.getOrDefault(event.getId(), 0L));
+                    EventFullDto dto = eventMapper.toFullDto(event, data.initiator(event));
+                    dto.setConfirmedRequests(data.confirmedRequests().getOrDefault(event.getId(), 0L));
+                    dto.setViews(data.views(event));
                     return dto;
                 })
                 .collect(Collectors.toList());
@@ -166,21 +226,52 @@ public class EventStatsService {
             return List.of();
         }
 
-        List<Long> eventIds = events.stream()
-                .map(Event::getId)
-                .collect(Collectors.toList());
-
-        Map<Long, Long> confirmedRequestsMap = getConfirmedRequestsBatch(eventIds);
-        Map<Long, Long> viewsMap = getViewsForEventsBatch(eventIds);
+        EnrichmentData data = fetchEnrichmentData(events, EnumSet.allOf(EventField.class));
 
         return events.stream()
                 .map(event -> {
-                    UserShortDto user = userClient.getById(event.getInitiator());
-                    EventShortDto dto = eventMapper.toShortDto(event, user);
-                    dto.setConfirmedRequests(confirmedRequestsMap.getOrDefault(event.getId(), 0L));
-                    dto.setViews(viewsMap.getOrDefault(event.getId(), 0L));
+                    EventShortDto dto = eventMapper.toShortDto(event, data.initiator(event));
+                    dto.setConfirmedRequests(data.confirmedRequests().getOrDefault(event.getId(), 0L));
+                    dto.setViews(data.views(event));
                     return dto;
                 })
                 .collect(Collectors.toList());
     }
+
+    private EnrichmentData fetchEnrichmentData(List<Event> events, Set<EventField> fields) {
+        List<Long> eventIds = events.stream()
+                .map(Event::getId)
+                .distinct()
+                .toList();
+        Map<Long, Long> confirmedRequests = events.stream()
+                .collect(Collectors.toMap(Event::getId, Event::getConfirmedRequests, (a, b) -> a));
+        List<Long> initiatorIds = events.stream()
+                .map(Event::getInitiator)
+                .distinct()
+                .toList();
+
+        CompletableFuture<Map<Long, UserShortDto>> users = fields.contains(EventField.INITIATOR)
+                ? enrichmentExecutor.submit("users", () -> userCache.getByIds(initiatorIds), Map.of())
+                : CompletableFuture.completedFuture(null);
+        CompletableFuture<Map<Long, Long>> views = fields.contains(EventField.VIEWS)
+                ? enrichmentExecutor.submit("views", () -> getViewsForEventsBatch(eventIds), Map.of())
+                : CompletableFuture.completedFuture(null);
+
+        return new EnrichmentData(users.join(), confirmedRequests, views.join());
+    }
+
+    // users и views равны null, если соответствующие поля не запрашивались
+    private record EnrichmentData(Map<Long, UserShortDto> users,
+                                  Map<Long, Long> confirmedRequests,
+                                  Map<Long, Long> views) {
+        UserShortDto initiator(Event event) {
+            return users != null
+                    ? users.get(event.getInitiator())
+                    : UserShortDto.builder().id(event.getInitiator()).build();
+        }
+
+        Long views(Event event) {
+            return views != null ? views.getOrDefault(event.getId(), 0L) : null;
+        }
+    }
 }
\ No newline at end of file
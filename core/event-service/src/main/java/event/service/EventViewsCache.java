@@ -0,0 +1,54 @@
+package event.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import util.cache.TtlCache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Кэш просмотров событий: в пределах окна свежести повторные чтения не обращаются к сервису статистики,
+ * устаревшие значения отдаются сразу и обновляются в фоне.
+ */
+@Component
+public class EventViewsCache {
+    private final TtlCache<Long, Long> cache;
+    private final ExecutorService refreshExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public EventViewsCache(@Value("${stats.views-cache.max-size:10000}") int maxSize,
+                           @Value("${stats.views-cache.fresh-ttl-ms:5000}") long freshTtlMs,
+                           @Value("${stats.views-cache.stale-ttl-ms:60000}") long staleTtlMs,
+                           MeterRegistry meterRegistry) {
+        this.cache = new TtlCache<>(maxSize, freshTtlMs, staleTtlMs);
+
+        FunctionCounter.builder("event.views.cache.hits", cache, TtlCache::getHitCount)
+                .register(meterRegistry);
+        FunctionCounter.builder("event.views.cache.stale.hits", cache, TtlCache::getStaleHitCount)
+                .register(meterRegistry);
+        FunctionCounter.builder("event.views.cache.misses", cache, TtlCache::getMissCount)
+                .register(meterRegistry);
+        Gauge.builder("event.views.cache.size", cache, TtlCache::size)
+                .register(meterRegistry);
+    }
+
+    public Map<Long, Long> getAll(List<Long> eventIds, Function<List<Long>, Map<Long, Long>> loader) {
+        return cache.getAll(eventIds, loader, refreshExecutor);
+    }
+
+    public void putAll(Map<Long, Long> views) {
+        cache.putAll(views);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+}
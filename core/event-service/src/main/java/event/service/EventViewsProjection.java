@@ -0,0 +1,127 @@
+package event.service;
+
+import event.dal.repository.EventViewsRepository;
+import event.dal.repository.ViewsProjectionState;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Периодически переносит число уникальных просмотров из агрегатов сервиса статистики в колонку events.views,
+ * по которой индексированно сортируется публичный поиск с sort=VIEWS.
+ * Обновляются только события, просмотренные с прошлого обновления (с запасом lookback на запоздавшие хиты);
+ * полный пересчёт выполняется первым и затем раз в full-refresh-interval-ms.
+ * Обновляет один экземпляр за раз: просмотры записываются под блокировкой строки состояния в event_views_projection
+ * и только если она не изменилась с начала обновления, так что экземпляр продолжает с общей отметки последнего
+ * обновления, а опоздавший экземпляр свою запись отбрасывает.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EventViewsProjection {
+    private final EventStatsService eventStatsService;
+    private final EventViewsRepository eventViewsRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${events.views-projection.enabled:true}")
+    private boolean enabled;
+
+    @Value("${events.views-projection.refresh-interval-ms:10000}")
+    private long refreshIntervalMs;
+
+    @Value("${events.views-projection.lookback-ms:60000}")
+    private long lookbackMs;
+
+    @Value("${events.views-projection.full-refresh-interval-ms:3600000}")
+    private long fullRefreshIntervalMs;
+
+    private TransactionTemplate transactionTemplate;
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void start() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "event-views-projection");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refresh, refreshIntervalMs, refreshIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+
+    public void refresh() {
+        try {
+            // Снимок состояния берётся в короткой транзакции; SKIP LOCKED пропускает обновление,
+            // пока другой экземпляр записывает проекцию
+            Optional<ViewsProjectionState> seen = transactionTemplate.execute(status ->
+                    eventViewsRepository.lockProjectionState());
+            if (seen != null) {
+                seen.ifPresent(this::refresh);
+            }
+        } catch (Exception e) {
+            log.warn("Не удалось обновить проекцию просмотров: {}", e.getMessage());
+        }
+    }
+
+    // Запросы к сервису статистики выполняются вне транзакции, чтобы медленный ответ не держал соединение
+    // и блокировку строки состояния; запись идёт, только если состояние не изменилось с момента снимка
+    private void refresh(ViewsProjectionState seen) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        // Другой экземпляр обновил проекцию только что
+        if (seen.lastRefreshStartedAt() != null
+                && seen.lastRefreshStartedAt().isAfter(startedAt.minus(Duration.ofMillis(refreshIntervalMs / 2)))) {
+            return;
+        }
+
+        boolean full = seen.lastRefreshStartedAt() == null || seen.lastFullRefreshAt() == null
+                || seen.lastFullRefreshAt().isBefore(startedAt.minus(Duration.ofMillis(fullRefreshIntervalMs)));
+        Map<Long, Long> views;
+        if (full) {
+            views = eventStatsService.getApproximateViewsForAllEvents();
+        } else {
+            Set<Long> viewed = eventStatsService.getViewedEventIdsSince(
+                    seen.lastRefreshStartedAt().minus(Duration.ofMillis(lookbackMs)));
+            views = eventStatsService.getApproximateViewsForEvents(viewed);
+        }
+
+        Boolean written = transactionTemplate.execute(status -> {
+            Optional<ViewsProjectionState> current = eventViewsRepository.lockProjectionState();
+            // Проекцию уже записал другой экземпляр, его данные не старше наших
+            if (current.isEmpty() || !current.get().equals(seen)) {
+                return false;
+            }
+            eventViewsRepository.updateViews(views);
+            eventViewsRepository.saveProjectionState(new ViewsProjectionState(startedAt,
+                    full ? startedAt : seen.lastFullRefreshAt()));
+            return true;
+        });
+        if (Boolean.TRUE.equals(written)) {
+            log.debug("Обновлена {} проекция просмотров для {} событий", full ? "полная" : "инкрементальная",
+                    views.size());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package event.service;
+
+import java.util.regex.Pattern;
+
+/**
+ * Выбор способа текстового поиска событий по длине запроса.
+ * Запросы короче full-text-min-length и запросы без слов ищутся как подстрока по триграммным индексам,
+ * длинные — префиксным полнотекстовым поиском по GIN-индексу. Запросы короче трёх символов тоже остаются
+ * поиском подстроки, чтобы находить то же, что и раньше: триграмм у них нет, и pg_trgm обслуживает их полным
+ * проходом по триграммному индексу вместо последовательного сканирования таблицы.
+ */
+enum TextSearchMode {
+    // Префиксный полнотекстовый поиск по events.search_vector с ранжированием
+    FULL_TEXT,
+    // Поиск подстроки lower(...) LIKE '%text%' по триграммным индексам
+    SUBSTRING;
+
+    static final int MIN_FULL_TEXT_LENGTH = 3;
+
+    private static final Pattern WORD_CHARACTER = Pattern.compile("[\\p{L}\\p{N}]");
+
+    static TextSearchMode of(String text, int fullTextMinLength) {
+        boolean hasWords = WORD_CHARACTER.matcher(text).find();
+        if (!hasWords || text.length() < Math.max(MIN_FULL_TEXT_LENGTH, fullTextMinLength)) {
+            return SUBSTRING;
+        }
+        return FULL_TEXT;
+    }
+}
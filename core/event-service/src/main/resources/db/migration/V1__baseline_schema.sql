@@ -0,0 +1,36 @@
+-- Схема, которую создавал hibernate ddl-auto: update до перехода на миграции.
+-- На существующих базах эта миграция пропускается (spring.flyway.baseline-version = 1).
+
+CREATE TABLE IF NOT EXISTS categories (
+    id   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(50) NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS events (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    annotation         VARCHAR(2000) NOT NULL,
+    created_on         TIMESTAMP(6)  NOT NULL,
+    description        VARCHAR(7000) NOT NULL,
+    event_date         TIMESTAMP(6)  NOT NULL,
+    initiator_id       BIGINT        NOT NULL,
+    paid               BOOLEAN       NOT NULL,
+    request_moderation BOOLEAN       NOT NULL,
+    latitude           REAL,
+    longitude          REAL,
+    participant_limit  INTEGER       NOT NULL,
+    published_on       TIMESTAMP(6),
+    state              VARCHAR(20)   NOT NULL,
+    title              VARCHAR(120)  NOT NULL,
+    category_id        BIGINT REFERENCES categories (id)
+);
+
+CREATE TABLE IF NOT EXISTS compilations (
+    id     BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    pinned BOOLEAN     NOT NULL,
+    title  VARCHAR(50) NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS compilation_events (
+    compilation_id BIGINT NOT NULL REFERENCES compilations (id),
+    event_id       BIGINT
+);
@@ -0,0 +1,7 @@
+-- Денормализованные счётчики: подтверждённые заявки (обновляет request-service)
+-- и проекция просмотров из сервиса статистики (EventViewsProjection)
+ALTER TABLE events ADD COLUMN IF NOT EXISTS confirmed_requests BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE events ADD COLUMN IF NOT EXISTS views BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE events ALTER COLUMN confirmed_requests SET DEFAULT 0;
+ALTER TABLE events ALTER COLUMN views SET DEFAULT 0;
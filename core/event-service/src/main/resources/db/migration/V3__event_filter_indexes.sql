@@ -0,0 +1,37 @@
+-- Индексы под комбинации фильтров buildPublicEventsSpecification и buildAdminEventsSpecification.
+
+-- Публичный поиск всегда фильтрует по state = 'PUBLISHED' и диапазону event_date;
+-- (event_date, id) также обслуживает keyset-пагинацию по дате
+CREATE INDEX IF NOT EXISTS idx_events_published_event_date
+    ON events (event_date, id) WHERE state = 'PUBLISHED';
+
+CREATE INDEX IF NOT EXISTS idx_events_published_category_event_date
+    ON events (category_id, event_date) WHERE state = 'PUBLISHED';
+
+CREATE INDEX IF NOT EXISTS idx_events_published_paid_event_date
+    ON events (paid, event_date) WHERE state = 'PUBLISHED';
+
+-- Сортировка и keyset-пагинация по просмотрам
+CREATE INDEX IF NOT EXISTS idx_events_published_views
+    ON events (views DESC, id DESC) WHERE state = 'PUBLISHED';
+
+-- Административный поиск: инициаторы, состояния, категории и диапазон дат
+CREATE INDEX IF NOT EXISTS idx_events_initiator_event_date
+    ON events (initiator_id, event_date);
+
+CREATE INDEX IF NOT EXISTS idx_events_state_event_date
+    ON events (state, event_date);
+
+CREATE INDEX IF NOT EXISTS idx_events_category_event_date
+    ON events (category_id, event_date);
+
+-- События пользователя по дате создания и самое раннее событие для начала окна статистики
+CREATE INDEX IF NOT EXISTS idx_events_initiator_created_on
+    ON events (initiator_id, created_on DESC);
+
+CREATE INDEX IF NOT EXISTS idx_events_created_on
+    ON events (created_on);
+
+-- Подборки, в которые входит событие
+CREATE INDEX IF NOT EXISTS idx_compilation_events_event
+    ON compilation_events (event_id);
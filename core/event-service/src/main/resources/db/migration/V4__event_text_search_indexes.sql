@@ -0,0 +1,27 @@
+-- Полнотекстовый поиск по to_tsvector('simple', annotation || ' ' || description);
+-- V6__event_search_vector.sql заменяет этот индекс индексом по генерируемой колонке search_vector
+CREATE INDEX IF NOT EXISTS idx_events_fts
+    ON events USING GIN (to_tsvector('simple', annotation || ' ' || description));
+
+-- Поиск подстроки через lower(...) LIKE '%text%' обслуживается триграммными индексами pg_trgm.
+-- С PostgreSQL 13 pg_trgm — доверенное расширение: его может установить пользователь с правом CREATE
+-- на базу, иначе нужен суперпользователь. Без этих прав миграция не падает: триграммные индексы
+-- не создаются, и поиск подстроки работает последовательным сканированием. После установки
+-- расширения администратором индексы создаются вручную командами ниже.
+DO $$
+BEGIN
+    CREATE EXTENSION IF NOT EXISTS pg_trgm;
+EXCEPTION
+    WHEN insufficient_privilege THEN
+        RAISE WARNING 'Нет прав на CREATE EXTENSION pg_trgm, триграммные индексы не созданы';
+END $$;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm') THEN
+        CREATE INDEX IF NOT EXISTS idx_events_annotation_trgm
+            ON events USING GIN (lower(annotation) gin_trgm_ops);
+        CREATE INDEX IF NOT EXISTS idx_events_description_trgm
+            ON events USING GIN (lower(description) gin_trgm_ops);
+    END IF;
+END $$;
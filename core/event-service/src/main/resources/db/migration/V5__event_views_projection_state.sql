@@ -0,0 +1,9 @@
+-- Состояние проекции просмотров (EventViewsProjection): единственная строка служит и блокировкой,
+-- чтобы проекцию обновлял один экземпляр, и общей отметкой, с которой продолжается инкрементальное обновление
+CREATE TABLE IF NOT EXISTS event_views_projection (
+    id                      SMALLINT     NOT NULL PRIMARY KEY CHECK (id = 1),
+    last_refresh_started_at TIMESTAMP(6),
+    last_full_refresh_at    TIMESTAMP(6)
+);
+
+INSERT INTO event_views_projection (id) VALUES (1) ON CONFLICT (id) DO NOTHING;
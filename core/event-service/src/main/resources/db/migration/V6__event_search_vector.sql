@@ -0,0 +1,10 @@
+-- Документ полнотекстового поиска хранится в генерируемой колонке: to_tsvector вычисляется при записи,
+-- а не для каждой строки при ранжировании. Выражение повторяет прежний индекс idx_events_fts.
+-- Добавление колонки переписывает таблицу events один раз
+ALTER TABLE events ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (to_tsvector('simple', annotation || ' ' || description)) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_events_search_vector
+    ON events USING GIN (search_vector);
+
+DROP INDEX IF EXISTS idx_events_fts;
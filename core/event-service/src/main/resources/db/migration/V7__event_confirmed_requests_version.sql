@@ -0,0 +1,3 @@
+-- Версия последнего принятого значения confirmed_requests. Значения приходят из request-service и от сверки
+-- при старте; запись принимается, только если её версия новее, поэтому старое значение не перезапишет новое
+ALTER TABLE events ADD COLUMN IF NOT EXISTS confirmed_requests_version BIGINT NOT NULL DEFAULT 0;
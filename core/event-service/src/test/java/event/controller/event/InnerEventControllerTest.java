@@ -0,0 +1,34 @@
+package event.controller.event;
+
+import event.service.EventService;
+import event.service.EventStatsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import util.error.ErrorHandler;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class InnerEventControllerTest {
+    private final EventService eventService = mock(EventService.class);
+    private final MockMvc mockMvc = MockMvcBuilders
+            .standaloneSetup(new InnerEventController(eventService, mock(EventStatsService.class)))
+            .setControllerAdvice(new ErrorHandler())
+            .build();
+
+    @Test
+    void unknownFieldIsBadRequestListingAllowedFields() throws Exception {
+        mockMvc.perform(get("/api/events/1").param("fields", "state", "title"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0]", containsString("'title'")))
+                .andExpect(jsonPath("$.errors[0]",
+                        containsString("state, limits, initiator, confirmedRequests, views")));
+
+        verifyNoInteractions(eventService);
+    }
+}
@@ -0,0 +1,37 @@
+package event.controller.event;
+
+import event.service.EventService;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import util.error.ErrorHandler;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class PublicEventControllerTest {
+    private final EventService eventService = mock(EventService.class);
+    private final MockMvc mockMvc = MockMvcBuilders
+            .standaloneSetup(new PublicEventController(eventService))
+            .setControllerAdvice(new ErrorHandler())
+            .build();
+
+    @Test
+    void cursorIssuedForAnotherSortIsBadRequest() throws Exception {
+        String eventDateCursor = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("eventDate=2026-01-01T00:00,id=42".getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(get("/events").param("cursor", eventDateCursor).param("sort", "VIEWS"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0]", containsString("другой сортировки")));
+
+        verifyNoInteractions(eventService);
+    }
+}
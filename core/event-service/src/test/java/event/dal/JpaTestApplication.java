@@ -0,0 +1,10 @@
+package event.dal;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Конфигурация для срезов @DataJpaTest: EventServiceApp включает Feign-клиенты, которые срезу не нужны.
+ */
+@SpringBootApplication
+public class JpaTestApplication {
+}
@@ -0,0 +1,118 @@
+package event.dal.repository;
+
+import event.dal.entity.Event;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import util.test.PostgresIntegrationTest;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Счётчики события пишутся только точечными UPDATE: сохранение отредактированного события,
+ * загруженного до push счётчиков, не должно возвращать их старые значения.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(EventViewsRepository.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EventCountersTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventViewsRepository eventViewsRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM events");
+    }
+
+    @Test
+    void editSavedAfterCounterPushKeepsPushedCounters() {
+        Long eventId = eventRepository.save(event()).getId();
+        TransactionTemplate edit = new TransactionTemplate(transactionManager);
+        TransactionTemplate push = new TransactionTemplate(transactionManager);
+        push.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        edit.executeWithoutResult(status -> {
+            Event loaded = eventRepository.findById(eventId).orElseThrow();
+            assertThat(loaded.getConfirmedRequests()).isZero();
+
+            push.executeWithoutResult(pushStatus -> {
+                eventRepository.updateConfirmedRequests(eventId, 5L, 1L);
+                eventViewsRepository.updateViews(Map.of(eventId, 42L));
+            });
+
+            loaded.setTitle("Новое название");
+            eventRepository.saveAndFlush(loaded);
+        });
+
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT title, confirmed_requests, views FROM events WHERE id = ?", eventId);
+        assertThat(row).containsEntry("title", "Новое название")
+                .containsEntry("confirmed_requests", 5L)
+                .containsEntry("views", 42L);
+    }
+
+    @Test
+    void olderConfirmedRequestsVersionDoesNotOverwriteNewerValue() {
+        Long eventId = eventRepository.save(event()).getId();
+        TransactionTemplate push = new TransactionTemplate(transactionManager);
+
+        push.executeWithoutResult(status -> eventRepository.updateConfirmedRequests(eventId, 8L, 20L));
+        int stale = push.execute(status -> eventRepository.updateConfirmedRequests(eventId, 3L, 12L));
+        int repeated = push.execute(status -> eventRepository.updateConfirmedRequests(eventId, 8L, 20L));
+
+        assertThat(stale).isZero();
+        assertThat(repeated).isZero();
+        assertThat(jdbcTemplate.queryForMap(
+                "SELECT confirmed_requests, confirmed_requests_version FROM events WHERE id = ?", eventId))
+                .containsEntry("confirmed_requests", 8L)
+                .containsEntry("confirmed_requests_version", 20L);
+    }
+
+    @Test
+    void newEventStartsWithZeroCounters() {
+        Event event = event();
+        event.setConfirmedRequests(7L);
+        event.setViews(7L);
+
+        Long eventId = eventRepository.save(event).getId();
+
+        assertThat(jdbcTemplate.queryForMap("SELECT confirmed_requests, views FROM events WHERE id = ?", eventId))
+                .containsEntry("confirmed_requests", 0L)
+                .containsEntry("views", 0L);
+    }
+
+    private static Event event() {
+        return Event.builder()
+                .title("Событие")
+                .annotation("Аннотация события")
+                .description("Описание события")
+                .initiator(1L)
+                .createdAt(LocalDateTime.now())
+                .eventDate(LocalDateTime.now().plusDays(1))
+                .state("PENDING")
+                .build();
+    }
+}
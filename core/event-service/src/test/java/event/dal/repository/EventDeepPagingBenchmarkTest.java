@@ -0,0 +1,112 @@
+package event.dal.repository;
+
+import event.dal.entity.Event;
+import event.service.EventCursor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import util.test.PostgresIntegrationTest;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static event.dal.repository.specification.EventSpecifications.isPublished;
+import static event.dal.repository.specification.EventSpecifications.startsAfter;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Страница 1 против страницы 10 000 публичного поиска событий (сортировка EVENT_DATE, по 10 событий):
+ * keyset-чтение по курсору и прежнее чтение через OFFSET. Запуск: mvn test -Pbenchmark -pl core/event-service
+ */
+@Tag("benchmark")
+@Slf4j
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class EventDeepPagingBenchmarkTest extends PostgresIntegrationTest {
+    private static final int PAGE_SIZE = 10;
+    private static final int DEEP_PAGE = 10_000;
+    private static final int EVENTS = DEEP_PAGE * PAGE_SIZE + PAGE_SIZE;
+    private static final int RUNS = 15;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    private Specification<Event> spec;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("INSERT INTO categories (name) VALUES ('category')");
+        jdbcTemplate.update("INSERT INTO events (title, annotation, description, category_id, initiator_id, " +
+                "created_on, event_date, paid, participant_limit, request_moderation, state, views) " +
+                "SELECT 'event ' || i, 'annotation ' || i, 'description ' || i, (SELECT MIN(id) FROM categories), " +
+                "i % 200, LOCALTIMESTAMP, LOCALTIMESTAMP + INTERVAL '1 day' + i * INTERVAL '1 minute', " +
+                "false, 0, true, 'PUBLISHED', 0 FROM generate_series(1, ?) i", EVENTS);
+        jdbcTemplate.execute("ANALYZE events");
+        spec = isPublished().and(startsAfter(LocalDateTime.now()));
+    }
+
+    @Test
+    void deepKeysetPageCostsAboutTheSameAsFirstPage() {
+        Map<String, Object> lastKeysBeforeDeepPage = jdbcTemplate.queryForObject(
+                "SELECT event_date, id FROM events ORDER BY event_date, id OFFSET ? LIMIT 1",
+                (rs, rowNum) -> {
+                    Map<String, Object> keys = new LinkedHashMap<>();
+                    keys.put("eventDate", rs.getTimestamp("event_date").toLocalDateTime());
+                    keys.put("id", rs.getLong("id"));
+                    return keys;
+                }, (DEEP_PAGE - 1) * PAGE_SIZE - 1);
+        ScrollPosition deepPosition = ScrollPosition.forward(lastKeysBeforeDeepPage);
+
+        List<Event> keysetDeepPage = keyset(deepPosition);
+        assertThat(keysetDeepPage).extracting(Event::getId)
+                .containsExactlyElementsOf(offset(DEEP_PAGE - 1).stream().map(Event::getId).toList());
+
+        long firstPageNanos = median(() -> keyset(ScrollPosition.keyset()));
+        long keysetDeepNanos = median(() -> keyset(deepPosition));
+        long offsetDeepNanos = median(() -> offset(DEEP_PAGE - 1));
+
+        log.info("Страница 1: {} мкс; страница {} по курсору: {} мкс; страница {} через OFFSET: {} мкс",
+                firstPageNanos / 1_000, DEEP_PAGE, keysetDeepNanos / 1_000, DEEP_PAGE, offsetDeepNanos / 1_000);
+        assertThat(keysetDeepNanos).isLessThan(Math.max(firstPageNanos * 3, 5_000_000L));
+        assertThat(keysetDeepNanos).isLessThan(offsetDeepNanos);
+    }
+
+    private List<Event> keyset(ScrollPosition position) {
+        return eventRepository.findBy(spec, query -> query
+                        .sortBy(EventCursor.sortFor("EVENT_DATE"))
+                        .limit(PAGE_SIZE)
+                        .scroll(position))
+                .getContent();
+    }
+
+    private List<Event> offset(int page) {
+        return eventRepository.findAll(spec, PageRequest.of(page, PAGE_SIZE, EventCursor.sortFor("EVENT_DATE")))
+                .getContent();
+    }
+
+    private static long median(Supplier<List<Event>> page) {
+        long[] nanos = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long started = System.nanoTime();
+            assertThat(page.get()).hasSize(PAGE_SIZE);
+            nanos[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(nanos);
+        return nanos[RUNS / 2];
+    }
+}
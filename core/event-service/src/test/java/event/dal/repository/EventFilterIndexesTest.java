@@ -0,0 +1,163 @@
+package event.dal.repository;
+
+import event.dal.entity.Event;
+import event.dal.repository.specification.EventSpecifications;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import util.test.PostgresIntegrationTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверяет по EXPLAIN, что фильтры публичного и административного поиска событий обслуживаются индексами
+ * из миграций. Последовательное сканирование отключено, поэтому проверяется применимость индекса к запросу,
+ * а не выбор планировщика на маленьком наборе данных.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class EventFilterIndexesTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("INSERT INTO categories (name) " +
+                "SELECT 'category ' || i FROM generate_series(1, 10) i");
+        jdbcTemplate.update("INSERT INTO events (title, annotation, description, category_id, initiator_id, " +
+                "created_on, event_date, paid, participant_limit, request_moderation, state, views) " +
+                "SELECT 'event ' || i, 'annotation ' || md5(i::text), 'description ' || md5((i * 7)::text), " +
+                "(SELECT MIN(id) FROM categories) + i % 10, i % 200, " +
+                "LOCALTIMESTAMP - i * INTERVAL '1 hour', LOCALTIMESTAMP + (i % 365) * INTERVAL '1 day', " +
+                "i % 2 = 0, i % 50, true, (ARRAY['PUBLISHED', 'PENDING', 'CANCELED'])[1 + i % 3], i % 1000 " +
+                "FROM generate_series(1, 5000) i");
+        jdbcTemplate.execute("ANALYZE events");
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+    }
+
+    @Test
+    void publishedEventsByDateUsePublishedDateIndex() {
+        assertThat(plan("SELECT * FROM events WHERE state = 'PUBLISHED' AND event_date > LOCALTIMESTAMP " +
+                "ORDER BY event_date, id LIMIT 10"))
+                .contains("idx_events_published_event_date");
+    }
+
+    @Test
+    void publishedEventsByCategoryUseCategoryIndex() {
+        assertThat(plan("SELECT * FROM events WHERE state = 'PUBLISHED' " +
+                "AND category_id IN (SELECT id FROM categories ORDER BY id LIMIT 2) " +
+                "AND event_date BETWEEN LOCALTIMESTAMP AND LOCALTIMESTAMP + INTERVAL '30 days'"))
+                .contains("idx_events_published_category_event_date");
+    }
+
+    @Test
+    void publishedEventsByPaidUsePaidIndex() {
+        assertThat(plan("SELECT * FROM events WHERE state = 'PUBLISHED' AND paid = true " +
+                "AND event_date BETWEEN LOCALTIMESTAMP AND LOCALTIMESTAMP + INTERVAL '30 days'"))
+                .contains("idx_events_published_paid_event_date");
+    }
+
+    @Test
+    void publishedEventsSortedByViewsUseViewsIndex() {
+        assertThat(plan("SELECT * FROM events WHERE state = 'PUBLISHED' ORDER BY views DESC, id DESC LIMIT 10"))
+                .contains("idx_events_published_views");
+    }
+
+    @Test
+    void adminSearchByInitiatorsUsesInitiatorIndex() {
+        assertThat(plan("SELECT * FROM events WHERE initiator_id IN (1, 2, 3) " +
+                "AND event_date BETWEEN LOCALTIMESTAMP AND LOCALTIMESTAMP + INTERVAL '30 days'"))
+                .contains("idx_events_initiator_event_date");
+    }
+
+    @Test
+    void adminSearchByStatesUsesStateIndex() {
+        assertThat(plan("SELECT * FROM events WHERE state IN ('PENDING', 'CANCELED') " +
+                "AND event_date BETWEEN LOCALTIMESTAMP AND LOCALTIMESTAMP + INTERVAL '30 days'"))
+                .contains("idx_events_state_event_date");
+    }
+
+    @Test
+    void userEventsUseInitiatorCreatedIndex() {
+        assertThat(plan("SELECT * FROM events WHERE initiator_id = 7 ORDER BY created_on DESC LIMIT 10"))
+                .contains("idx_events_initiator_created_on");
+    }
+
+    @Test
+    void fullTextSearchUsesGinIndex() {
+        assertThat(plan("SELECT * FROM events " +
+                "WHERE search_vector @@ to_tsquery('simple', 'c4ca4238a0b923820dcc509a6f75849b')"))
+                .contains("idx_events_search_vector");
+    }
+
+    @Test
+    void fullTextSpecificationMatchesAndRanksBySearchVector() {
+        List<Event> found = eventRepository.findAll(EventSpecifications.matchesFullText("c4ca4238a0b9"),
+                PageRequest.of(0, 10)).getContent();
+
+        assertThat(found).isNotEmpty()
+                .allSatisfy(event -> assertThat(event.getAnnotation() + " " + event.getDescription())
+                        .contains("c4ca4238a0b9"));
+    }
+
+    @Test
+    void fullTextRankOrdersUnsortedPagesAndPageableSortOverridesIt() {
+        long weak = insertEvent("zzrank", "description");
+        long strong = insertEvent("zzrank zzrank", "zzrank zzrank zzrank");
+
+        assertThat(eventRepository.findAll(EventSpecifications.matchesFullText("zzrank"), PageRequest.of(0, 10)))
+                .extracting(Event::getId).containsExactly(strong, weak);
+        assertThat(eventRepository.findAll(EventSpecifications.matchesFullText("zzrank"),
+                PageRequest.of(0, 10, Sort.by("id")))).extracting(Event::getId).containsExactly(weak, strong);
+    }
+
+    @Test
+    void substringSearchUsesTrigramIndex() {
+        assertThat(plan("SELECT * FROM events WHERE lower(annotation) LIKE '%abc%' " +
+                "OR lower(description) LIKE '%abc%'"))
+                .contains("idx_events_annotation_trgm")
+                .contains("idx_events_description_trgm");
+    }
+
+    @Test
+    void shortSubstringSearchStillFindsMatchesThroughTrigramIndex() {
+        assertThat(plan("SELECT * FROM events WHERE lower(annotation) LIKE '%c4%' " +
+                "OR lower(description) LIKE '%c4%'"))
+                .contains("idx_events_annotation_trgm")
+                .contains("idx_events_description_trgm");
+
+        List<Event> found = eventRepository.findAll(EventSpecifications.containsText("C4"),
+                PageRequest.of(0, 10)).getContent();
+        assertThat(found).isNotEmpty()
+                .allSatisfy(event -> assertThat(event.getAnnotation() + " " + event.getDescription())
+                        .containsIgnoringCase("c4"));
+    }
+
+    @Test
+    void compilationsOfEventUseEventIndex() {
+        assertThat(plan("SELECT compilation_id FROM compilation_events WHERE event_id = 42"))
+                .contains("idx_compilation_events_event");
+    }
+
+    private long insertEvent(String annotation, String description) {
+        return jdbcTemplate.queryForObject("INSERT INTO events (title, annotation, description, category_id, " +
+                "initiator_id, created_on, event_date, paid, participant_limit, request_moderation, state) " +
+                "VALUES ('event', ?, ?, (SELECT MIN(id) FROM categories), 1, LOCALTIMESTAMP, LOCALTIMESTAMP, " +
+                "false, 0, true, 'PUBLISHED') RETURNING id", Long.class, annotation, description);
+    }
+
+    private String plan(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+    }
+}
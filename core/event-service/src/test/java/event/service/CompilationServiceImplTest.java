@@ -0,0 +1,100 @@
+package event.service;
+
+import dto.compilation.CompilationResponse;
+import dto.event.EventShortDto;
+import event.dal.entity.Compilation;
+import event.dal.entity.Event;
+import event.dal.mapper.CompilationMapperImpl;
+import event.dal.mapper.EventMapper;
+import event.dal.repository.CompilationRepository;
+import event.dal.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CompilationServiceImplTest {
+    private final CompilationRepository compilationRepository = mock(CompilationRepository.class);
+    private final EventRepository eventRepository = mock(EventRepository.class);
+    private final EventStatsService eventStatsService = mock(EventStatsService.class);
+    private final CompilationViewCache compilationViewCache = mock(CompilationViewCache.class);
+
+    private CompilationServiceImpl compilationService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        compilationService = new CompilationServiceImpl(compilationRepository, eventRepository,
+                new CompilationMapperImpl(), eventStatsService, compilationViewCache);
+        when(compilationViewCache.getAll(anyList(), any())).thenAnswer(invocation ->
+                ((Function<List<Long>, Map<Long, CompilationResponse>>) invocation.getArgument(1))
+                        .apply(invocation.getArgument(0)));
+        when(eventRepository.findAllByIdWithCategoryAndInitiator(anyList())).thenAnswer(invocation ->
+                ((List<Long>) invocation.getArgument(0)).stream()
+                        .map(id -> Event.builder().id(id).build())
+                        .toList());
+        when(eventStatsService.enrichEventsShortDtoBatch(anyList(), any())).thenAnswer(invocation ->
+                ((List<Event>) invocation.getArgument(0)).stream()
+                        .map(event -> EventShortDto.builder().id(event.getId()).views(event.getId() * 10).build())
+                        .toList());
+    }
+
+    @Test
+    void pageOfCompilationsIsRenderedWithOneEventQueryAndOneEnrichmentBatch() {
+        List<Compilation> compilations = List.of(
+                compilation(1L, Set.of(10L, 11L)),
+                compilation(2L, Set.of(11L, 12L)),
+                compilation(3L, Set.of()));
+        Pageable pageable = PageRequest.of(0, 10);
+        when(compilationRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(compilations));
+        when(compilationRepository.findAllWithEventsByIdIn(List.of(1L, 2L, 3L))).thenReturn(compilations);
+
+        List<CompilationResponse> result = compilationService.getCompilations(null, pageable);
+
+        assertThat(result).extracting(CompilationResponse::getId).containsExactly(1L, 2L, 3L);
+        assertThat(result.get(0).getEvents()).extracting(EventShortDto::getId).containsExactlyInAnyOrder(10L, 11L);
+        assertThat(result.get(1).getEvents()).extracting(EventShortDto::getViews)
+                .containsExactlyInAnyOrder(110L, 120L);
+        assertThat(result.get(2).getEvents()).isEmpty();
+        verify(eventRepository, times(1)).findAllByIdWithCategoryAndInitiator(
+                argThat(ids -> ids.size() == 3 && ids.containsAll(List.of(10L, 11L, 12L))));
+        verify(eventStatsService, times(1)).enrichEventsShortDtoBatch(anyList(), eq(EventMapper.INSTANCE));
+    }
+
+    @Test
+    void compilationsWithoutEventsDoNotTouchEvents() {
+        when(compilationRepository.findAllWithEventsByIdIn(List.of(5L)))
+                .thenReturn(List.of(compilation(5L, Set.of())));
+
+        CompilationResponse result = compilationService.getCompilationById(5L);
+
+        assertThat(result.getEvents()).isEmpty();
+        verify(eventRepository, never()).findAllByIdWithCategoryAndInitiator(anyList());
+        verify(eventStatsService, never()).enrichEventsShortDtoBatch(anyList(), any());
+    }
+
+    private static Compilation compilation(Long id, Set<Long> events) {
+        return Compilation.builder()
+                .id(id)
+                .title("Подборка " + id)
+                .events(events)
+                .build();
+    }
+}
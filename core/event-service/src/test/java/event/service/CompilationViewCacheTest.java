@@ -0,0 +1,64 @@
+package event.service;
+
+import dto.compilation.CompilationResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompilationViewCacheTest {
+    private final CompilationViewCache cache = new CompilationViewCache(100, 60_000, 60_000,
+            new SimpleMeterRegistry());
+
+    @AfterEach
+    void tearDown() {
+        cache.shutdown();
+    }
+
+    @Test
+    void loadStartedBeforeInvalidationIsNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+        Function<List<Long>, Map<Long, CompilationResponse>> racingLoader = ids -> {
+            loads.incrementAndGet();
+            // Запись изменили и закоммитили, пока шла загрузка
+            cache.invalidateAfterCommit(ids);
+            return Map.of(1L, compilation("до коммита"));
+        };
+
+        assertThat(cache.getAll(List.of(1L), racingLoader).get(1L).getTitle()).isEqualTo("до коммита");
+
+        CompilationResponse reloaded = cache.getAll(List.of(1L), ids -> {
+            loads.incrementAndGet();
+            return Map.of(1L, compilation("после коммита"));
+        }).get(1L);
+        assertThat(reloaded.getTitle()).isEqualTo("после коммита");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void loadWithoutInvalidationIsCached() {
+        AtomicInteger loads = new AtomicInteger();
+        Function<List<Long>, Map<Long, CompilationResponse>> loader = ids -> {
+            loads.incrementAndGet();
+            return Map.of(1L, compilation("подборка"));
+        };
+
+        cache.getAll(List.of(1L), loader);
+        cache.getAll(List.of(1L), loader);
+
+        assertThat(loads).hasValue(1);
+    }
+
+    private static CompilationResponse compilation(String title) {
+        return CompilationResponse.builder()
+                .id(1L)
+                .title(title)
+                .build();
+    }
+}
@@ -0,0 +1,104 @@
+package event.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventCursorTest {
+
+    @Test
+    void eventDateCursorRoundTrips() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put(EventCursor.EVENT_DATE, LocalDateTime.of(2026, 3, 14, 15, 9, 26, 535_000_000));
+        keys.put(EventCursor.ID, 42L);
+
+        KeysetScrollPosition decoded = EventCursor.decode(EventCursor.encode(ScrollPosition.forward(keys)),
+                "EVENT_DATE");
+
+        assertThat(decoded.getKeys()).containsExactlyEntriesOf(keys);
+        assertThat(decoded.getDirection()).isEqualTo(ScrollPosition.Direction.FORWARD);
+    }
+
+    @Test
+    void viewsCursorRoundTrips() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put(EventCursor.VIEWS, 1_000_000L);
+        keys.put(EventCursor.ID, 7L);
+
+        assertThat(EventCursor.decode(EventCursor.encode(ScrollPosition.forward(keys)), "VIEWS").getKeys())
+                .containsExactlyEntriesOf(keys);
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put(EventCursor.EVENT_DATE, LocalDateTime.of(2026, 1, 1, 0, 0));
+        keys.put(EventCursor.ID, Long.MAX_VALUE);
+
+        assertThat(EventCursor.encode(ScrollPosition.forward(keys))).matches("[A-Za-z0-9_-]+");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "   "})
+    void blankCursorMeansFirstPage(String cursor) {
+        assertThat(EventCursor.decode(cursor, "VIEWS").isInitial()).isTrue();
+        assertThat(EventCursor.decode(null, null).isInitial()).isTrue();
+    }
+
+    @Test
+    void cursorThatIsNotBase64IsRejected() {
+        assertThatThrownBy(() -> EventCursor.decode("not base64!", null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("not base64!");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"id=abc", "unknown=1", "eventDate=yesterday", "views"})
+    void cursorWithMalformedKeysIsRejected(String raw) {
+        String cursor = base64(raw);
+
+        assertThatThrownBy(() -> EventCursor.decode(cursor, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(cursor);
+    }
+
+    @Test
+    void cursorIssuedForAnotherSortIsRejected() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put(EventCursor.EVENT_DATE, LocalDateTime.of(2026, 1, 1, 0, 0));
+        keys.put(EventCursor.ID, 42L);
+        String cursor = EventCursor.encode(ScrollPosition.forward(keys));
+
+        assertThatThrownBy(() -> EventCursor.decode(cursor, "VIEWS"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("другой сортировки");
+        assertThatThrownBy(() -> EventCursor.decode(base64("id=42"), "EVENT_DATE"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void sortMatchesCursorKeys() {
+        assertThat(EventCursor.sortFor("VIEWS"))
+                .isEqualTo(Sort.by(Sort.Direction.DESC, EventCursor.VIEWS, EventCursor.ID));
+        assertThat(EventCursor.sortFor("EVENT_DATE"))
+                .isEqualTo(Sort.by(Sort.Direction.ASC, EventCursor.EVENT_DATE, EventCursor.ID));
+        assertThat(EventCursor.sortFor(null))
+                .isEqualTo(Sort.by(Sort.Direction.ASC, EventCursor.EVENT_DATE, EventCursor.ID));
+    }
+
+    private static String base64(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
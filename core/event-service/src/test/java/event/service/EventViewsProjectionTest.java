@@ -0,0 +1,152 @@
+package event.service;
+
+import event.dal.JpaTestApplication;
+import event.dal.repository.EventViewsRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import util.test.PostgresIntegrationTest;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = {
+        "events.views-projection.enabled=false",
+        "events.views-projection.refresh-interval-ms=0",
+        "events.views-projection.lookback-ms=60000"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = JpaTestApplication.class)
+@Import({EventViewsProjection.class, EventViewsRepository.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EventViewsProjectionTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private EventViewsProjection projection;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private EventStatsService eventStatsService;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("UPDATE event_views_projection SET last_refresh_started_at = NULL, " +
+                "last_full_refresh_at = NULL");
+        jdbcTemplate.update("DELETE FROM events");
+    }
+
+    @Test
+    void firstRefreshIsFullAndNextOnesOnlyTouchRecentlyViewedEvents() {
+        long first = insertEvent();
+        long second = insertEvent();
+        when(eventStatsService.getApproximateViewsForAllEvents()).thenReturn(Map.of(first, 10L, second, 20L));
+        when(eventStatsService.getViewedEventIdsSince(any())).thenReturn(Set.of(second));
+        when(eventStatsService.getApproximateViewsForEvents(Set.of(second))).thenReturn(Map.of(second, 25L));
+
+        LocalDateTime beforeFirst = LocalDateTime.now();
+        projection.refresh();
+        projection.refresh();
+
+        assertThat(views(first)).isEqualTo(10L);
+        assertThat(views(second)).isEqualTo(25L);
+        // Окно инкрементального обновления начинается с прошлого обновления с запасом lookback
+        ArgumentCaptor<LocalDateTime> since = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(eventStatsService).getViewedEventIdsSince(since.capture());
+        assertThat(since.getValue()).isBetween(beforeFirst.minusSeconds(61), beforeFirst.minusSeconds(59));
+    }
+
+    @Test
+    void refreshIsSkippedWhileAnotherInstanceHoldsProjection() {
+        TransactionTemplate otherInstance = new TransactionTemplate(transactionManager);
+        Thread refresh = new Thread(projection::refresh);
+
+        otherInstance.executeWithoutResult(status -> {
+            jdbcTemplate.queryForList("SELECT id FROM event_views_projection FOR UPDATE");
+            refresh.start();
+            try {
+                refresh.join(10_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        verifyNoInteractions(eventStatsService);
+    }
+
+    @Test
+    void statsAreFetchedWithoutTransactionOrProjectionLock() {
+        long event = insertEvent();
+        when(eventStatsService.getApproximateViewsForAllEvents()).thenAnswer(invocation -> {
+            assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+            // Другой экземпляр может взять строку состояния, пока идёт запрос к статистике
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    jdbcTemplate.queryForList("SELECT id FROM event_views_projection FOR UPDATE NOWAIT"));
+            return Map.of(event, 5L);
+        });
+
+        projection.refresh();
+
+        assertThat(views(event)).isEqualTo(5L);
+    }
+
+    @Test
+    void viewsFetchedBeforeAnotherInstanceRefreshAreDiscarded() {
+        long event = insertEvent();
+        when(eventStatsService.getApproximateViewsForAllEvents()).thenAnswer(invocation -> {
+            jdbcTemplate.update("UPDATE event_views_projection SET last_refresh_started_at = LOCALTIMESTAMP, " +
+                    "last_full_refresh_at = LOCALTIMESTAMP");
+            return Map.of(event, 5L);
+        });
+
+        projection.refresh();
+
+        assertThat(views(event)).isEqualTo(0L);
+    }
+
+    @Test
+    void fullRefreshIsRepeatedAfterFullRefreshInterval() {
+        jdbcTemplate.update("UPDATE event_views_projection SET last_refresh_started_at = LOCALTIMESTAMP, " +
+                "last_full_refresh_at = LOCALTIMESTAMP - INTERVAL '2 hours'");
+        when(eventStatsService.getApproximateViewsForAllEvents()).thenReturn(Map.of());
+
+        projection.refresh();
+
+        verify(eventStatsService).getApproximateViewsForAllEvents();
+        verify(eventStatsService, never()).getViewedEventIdsSince(any());
+    }
+
+    private long insertEvent() {
+        return jdbcTemplate.queryForObject("INSERT INTO events (title, annotation, description, initiator_id, " +
+                "created_on, event_date, paid, participant_limit, request_moderation, state) " +
+                "VALUES ('event', 'annotation', 'description', 1, LOCALTIMESTAMP, LOCALTIMESTAMP, false, 0, true, " +
+                "'PUBLISHED') RETURNING id", Long.class);
+    }
+
+    private Long views(long eventId) {
+        return jdbcTemplate.queryForObject("SELECT views FROM events WHERE id = ?", Long.class, eventId);
+    }
+}
@@ -0,0 +1,40 @@
+package event.service;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextSearchModeTest {
+    private static final int FULL_TEXT_MIN_LENGTH = 5;
+
+    @ParameterizedTest
+    @CsvSource({
+            "a, SUBSTRING",
+            "яз, SUBSTRING",
+            "42, SUBSTRING",
+            "'!?', SUBSTRING",
+            "'-', SUBSTRING",
+            "абв, SUBSTRING",
+            "jazz, SUBSTRING",
+            "'+++', SUBSTRING",
+            "концерт, FULL_TEXT",
+            "'jazz band', FULL_TEXT",
+            "'-----', SUBSTRING"
+    })
+    void queryIsRoutedByLength(String text, TextSearchMode expected) {
+        assertThat(TextSearchMode.of(text, FULL_TEXT_MIN_LENGTH)).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"a, SUBSTRING", "ab, SUBSTRING", "abc, FULL_TEXT"})
+    void smallFullTextThresholdStillKeepsShortQueriesOnSubstringSearch(String text, TextSearchMode expected) {
+        assertThat(TextSearchMode.of(text, 2)).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"ab, SUBSTRING", "abc, SUBSTRING", "abcdefghi, SUBSTRING", "abcdefghij, FULL_TEXT"})
+    void largeFullTextThresholdKeepsMediumQueriesOnSubstringSearch(String text, TextSearchMode expected) {
+        assertThat(TextSearchMode.of(text, 10)).isEqualTo(expected);
+    }
+}
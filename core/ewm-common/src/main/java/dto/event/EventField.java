@@ -0,0 +1,59 @@
+package dto.event;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Части EventFullDto, которые может запросить внутренний клиент.
+ * STATE и LIMITS берутся из самого события; INITIATOR, CONFIRMED_REQUESTS и VIEWS требуют обогащения.
+ */
+public enum EventField {
+    STATE,
+    LIMITS,
+    INITIATOR,
+    CONFIRMED_REQUESTS,
+    VIEWS;
+
+    /**
+     * Разбирает имена вида "state", "confirmedRequests" или "confirmed-requests".
+     * Пустой набор означает все поля. На неизвестное имя бросает IllegalArgumentException
+     * со списком допустимых полей, который ErrorHandler возвращает как 400.
+     */
+    public static Set<EventField> parse(Collection<String> names) {
+        if (names == null || names.isEmpty()) {
+            return EnumSet.allOf(EventField.class);
+        }
+
+        EnumSet<EventField> fields = EnumSet.noneOf(EventField.class);
+        for (String name : names) {
+            String normalized = name.trim()
+                    .replaceAll("([a-z])([A-Z])", "$1_$2")
+                    .replace('-', '_')
+                    .toUpperCase();
+            fields.add(Arrays.stream(values())
+                    .filter(field -> field.name().equals(normalized))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Неизвестное поле события '" + name
+                            + "', допустимые поля: " + allowedNames())));
+        }
+        return fields;
+    }
+
+    private static String allowedNames() {
+        return Arrays.stream(values())
+                .map(EventField::paramName)
+                .collect(Collectors.joining(", "));
+    }
+
+    private String paramName() {
+        String[] parts = name().toLowerCase().split("_");
+        StringBuilder result = new StringBuilder(parts[0]);
+        for (int i = 1; i < parts.length; i++) {
+            result.append(Character.toUpperCase(parts[i].charAt(0))).append(parts[i].substring(1));
+        }
+        return result.toString();
+    }
+}
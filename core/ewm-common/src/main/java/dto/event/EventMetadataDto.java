@@ -0,0 +1,18 @@
+package dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventMetadataDto {
+    private Long id;
+    private String state;
+    private Long initiator;
+    private Integer participantLimit;
+    private Boolean requestModeration;
+}
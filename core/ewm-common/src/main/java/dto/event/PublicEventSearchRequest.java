@@ -38,6 +38,9 @@ public class PublicEventSearchRequest {
     )
     private String sort;
 
+    // Курсор keyset-пагинации; пустое значение запрашивает первую страницу, отсутствие — постраничный режим
+    private String cursor;
+
     @Builder.Default
     private Integer from = 0;
 
@@ -2,10 +2,22 @@ package dto.request;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
+/**
+ * Число подтверждённых заявок события. version растёт с каждым чтением в request-service:
+ * event-service принимает значение, только если оно новее уже записанного.
+ */
 @Data
+@NoArgsConstructor
 @AllArgsConstructor
 public class EventConfirmedRequestsDto {
     private Long eventId;
     private Long confirmedCount;
+    private Long version;
+
+    public EventConfirmedRequestsDto(Long eventId, Long confirmedCount) {
+        this.eventId = eventId;
+        this.confirmedCount = confirmedCount;
+    }
 }
\ No newline at end of file
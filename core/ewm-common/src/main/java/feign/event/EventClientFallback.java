@@ -1,20 +1,39 @@
 package feign.event;
 
 import dto.event.EventFullDto;
+import dto.event.EventMetadataDto;
+import dto.request.EventConfirmedRequestsDto;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Component
 public class EventClientFallback implements EventClient {
     @Override
-    public EventFullDto getById(Long id) {
+    public EventFullDto getById(Long id, Set<String> fields) {
         return EventFullDto.builder().id(id).build();
     }
 
+    @Override
+    public List<EventFullDto> getByIds(List<Long> ids, Set<String> fields) {
+        return List.of();
+    }
+
+    @Override
+    public EventMetadataDto getMetadata(Long id) {
+        return EventMetadataDto.builder().id(id).build();
+    }
+
     @Override
     public Map<Long, Long> getConfirmedRequestsBatchByEventIds(List<Long> eventIds) {
         return Map.of();
     }
+
+    @Override
+    public void updateConfirmedRequests(List<EventConfirmedRequestsDto> confirmedRequests) {
+        // Отправитель повторит обновление позже, поэтому сбой нельзя скрывать
+        throw new IllegalStateException("Сервис событий недоступен");
+    }
 }
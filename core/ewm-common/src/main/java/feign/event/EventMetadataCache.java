@@ -0,0 +1,55 @@
+package feign.event;
+
+import dto.event.EventMetadataDto;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import util.cache.TtlCache;
+
+/**
+ * Клиентский кэш метаданных событий: состояние, инициатор, лимит участников и модерация заявок.
+ * Кэшируются только опубликованные события, так что публикация видна сразу. Об изменении события
+ * event-service уведомляет через EventMetadataCacheController; если уведомление потерялось,
+ * изменение станет видно не позже чем через ttl.
+ */
+@Component
+public class EventMetadataCache {
+    private static final String PUBLISHED = "PUBLISHED";
+
+    private final EventClient eventClient;
+    private final TtlCache<Long, EventMetadataDto> cache;
+
+    public EventMetadataCache(EventClient eventClient,
+                              @Value("${event-cache.max-size:10000}") int maxSize,
+                              @Value("${event-cache.ttl-ms:30000}") long ttlMs,
+                              MeterRegistry meterRegistry) {
+        this.eventClient = eventClient;
+        this.cache = new TtlCache<>(maxSize, ttlMs, ttlMs);
+
+        FunctionCounter.builder("event.metadata.cache.hits", cache, TtlCache::getHitCount)
+                .register(meterRegistry);
+        FunctionCounter.builder("event.metadata.cache.misses", cache, TtlCache::getMissCount)
+                .register(meterRegistry);
+        Gauge.builder("event.metadata.cache.size", cache, TtlCache::size)
+                .register(meterRegistry);
+    }
+
+    public EventMetadataDto get(Long eventId) {
+        EventMetadataDto cached = cache.getIfPresent(eventId);
+        if (cached != null) {
+            return cached;
+        }
+
+        EventMetadataDto metadata = eventClient.getMetadata(eventId);
+        if (metadata != null && PUBLISHED.equals(metadata.getState()) && metadata.getInitiator() != null) {
+            cache.put(eventId, metadata);
+        }
+        return metadata;
+    }
+
+    public void invalidate(Long eventId) {
+        cache.invalidate(eventId);
+    }
+}
@@ -0,0 +1,22 @@
+package feign.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Принимает от event-service уведомления об изменении событий.
+ */
+@RestController
+@RequestMapping("/api/cache/events")
+@RequiredArgsConstructor
+public class EventMetadataCacheController {
+    private final EventMetadataCache eventMetadataCache;
+
+    @DeleteMapping("/{id}")
+    public void invalidate(@PathVariable("id") Long id) {
+        eventMetadataCache.invalidate(id);
+    }
+}
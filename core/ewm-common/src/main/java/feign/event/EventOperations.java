@@ -1,17 +1,33 @@
 package feign.event;
 
 import dto.event.EventFullDto;
+import dto.event.EventMetadataDto;
+import dto.request.EventConfirmedRequestsDto;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public interface EventOperations {
     @GetMapping("/{id}")
-    EventFullDto getById(@PathVariable("id") Long id);
+    EventFullDto getById(@PathVariable("id") Long id,
+                         @RequestParam(value = "fields", required = false) Set<String> fields);
+
+    @GetMapping
+    List<EventFullDto> getByIds(@RequestParam("ids") List<Long> ids,
+                                @RequestParam(value = "fields", required = false) Set<String> fields);
+
+    @GetMapping("/{id}/metadata")
+    EventMetadataDto getMetadata(@PathVariable("id") Long id);
 
     @GetMapping("/confirmed")
     Map<Long, Long> getConfirmedRequestsBatchByEventIds(@RequestParam List<Long> eventIds);
+
+    @PutMapping("/confirmed")
+    void updateConfirmedRequests(@RequestBody List<EventConfirmedRequestsDto> confirmedRequests);
 }
@@ -0,0 +1,226 @@
+package feign.user;
+
+import dto.user.UserShortDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import util.cache.TtlCache;
+import util.exception.NotFoundException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Общий кэш пользователей поверх UserClient.
+ * Параллельные промахи по одному id ждут один и тот же запрос, а промахи в пределах короткого окна
+ * объединяются в один вызов getByIds.
+ * Ожидание общего запроса ограничено waitTimeoutMs: если пакет завис, недождавшиеся id загружаются напрямую.
+ */
+@Component
+@Slf4j
+public class UserCache {
+    private final UserClient userClient;
+    private final TtlCache<Long, UserShortDto> cache;
+    private final long batchWindowMs;
+    private final int maxBatchSize;
+    private final long waitTimeoutMs;
+
+    private final Map<Long, CompletableFuture<UserShortDto>> inFlight = new ConcurrentHashMap<>();
+    private final List<Long> pendingIds = new ArrayList<>();
+    private final AtomicLong epoch = new AtomicLong();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "user-cache-batcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService fetchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Counter coalesced;
+    private final Counter batches;
+    private final Counter batchedIds;
+    private final Counter waitTimeouts;
+
+    public UserCache(UserClient userClient,
+                     @Value("${users.cache.max-size:10000}") int maxSize,
+                     @Value("${users.cache.ttl-ms:600000}") long ttlMs,
+                     @Value("${users.cache.batch-window-ms:2}") long batchWindowMs,
+                     @Value("${users.cache.max-batch-size:200}") int maxBatchSize,
+                     @Value("${users.cache.wait-timeout-ms:2000}") long waitTimeoutMs,
+                     MeterRegistry meterRegistry) {
+        this.userClient = userClient;
+        this.cache = new TtlCache<>(maxSize, ttlMs, ttlMs);
+        this.batchWindowMs = batchWindowMs;
+        this.maxBatchSize = maxBatchSize;
+        this.waitTimeoutMs = waitTimeoutMs;
+
+        FunctionCounter.builder("users.cache.hits", cache, TtlCache::getHitCount)
+                .register(meterRegistry);
+        FunctionCounter.builder("users.cache.misses", cache, TtlCache::getMissCount)
+                .register(meterRegistry);
+        Gauge.builder("users.cache.hit.ratio", cache, UserCache::hitRatio)
+                .register(meterRegistry);
+        Gauge.builder("users.cache.size", cache, TtlCache::size)
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("users.cache.coalesced")
+                .description("Промахи, присоединившиеся к уже выполняемому запросу")
+                .register(meterRegistry);
+        this.batches = Counter.builder("users.cache.batches")
+                .description("Вызовы getByIds в user-service")
+                .register(meterRegistry);
+        this.batchedIds = Counter.builder("users.cache.batched.ids")
+                .description("Идентификаторы, запрошенные в пакетах")
+                .register(meterRegistry);
+        this.waitTimeouts = Counter.builder("users.cache.wait.timeouts")
+                .description("Id, не дождавшиеся общего запроса и загруженные напрямую")
+                .register(meterRegistry);
+    }
+
+    public UserShortDto getById(Long userId) {
+        UserShortDto user = getByIds(List.of(userId)).get(userId);
+        if (user == null) {
+            throw new NotFoundException("Пользователь не найден с id: " + userId);
+        }
+        return user;
+    }
+
+    public Map<Long, UserShortDto> getByIds(Collection<Long> userIds) {
+        Map<Long, UserShortDto> result = new HashMap<>();
+        Map<Long, CompletableFuture<UserShortDto>> waiting = new LinkedHashMap<>();
+
+        for (Long userId : new LinkedHashSet<>(userIds)) {
+            UserShortDto cached = cache.getIfPresent(userId);
+            if (cached != null) {
+                result.put(userId, cached);
+            } else {
+                waiting.put(userId, request(userId));
+            }
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitTimeoutMs);
+        List<Long> timedOut = new ArrayList<>();
+        waiting.forEach((userId, future) -> {
+            try {
+                UserShortDto user = await(future, deadline - System.nanoTime());
+                if (user != null) {
+                    result.put(userId, user);
+                }
+            } catch (TimeoutException e) {
+                timedOut.add(userId);
+            }
+        });
+
+        if (!timedOut.isEmpty()) {
+            waitTimeouts.increment(timedOut.size());
+            log.warn("Не дождались загрузки пользователей {} за {} мс, загружаем напрямую", timedOut, waitTimeoutMs);
+            result.putAll(loadDirectly(timedOut));
+        }
+        return result;
+    }
+
+    public void invalidate(Long userId) {
+        epoch.incrementAndGet();
+        cache.invalidate(userId);
+    }
+
+    private CompletableFuture<UserShortDto> request(Long userId) {
+        CompletableFuture<UserShortDto> created = new CompletableFuture<>();
+        CompletableFuture<UserShortDto> existing = inFlight.putIfAbsent(userId, created);
+        if (existing != null) {
+            coalesced.increment();
+            return existing;
+        }
+
+        synchronized (pendingIds) {
+            pendingIds.add(userId);
+            if (pendingIds.size() >= maxBatchSize) {
+                fetchExecutor.execute(this::flush);
+            } else if (pendingIds.size() == 1) {
+                scheduler.schedule(() -> fetchExecutor.execute(this::flush), batchWindowMs, TimeUnit.MILLISECONDS);
+            }
+        }
+        return created;
+    }
+
+    private void flush() {
+        List<Long> batch;
+        synchronized (pendingIds) {
+            if (pendingIds.isEmpty()) {
+                return;
+            }
+            batch = List.copyOf(pendingIds);
+            pendingIds.clear();
+        }
+
+        batches.increment();
+        batchedIds.increment(batch.size());
+        long startEpoch = epoch.get();
+        try {
+            Map<Long, UserShortDto> users = userClient.getByIds(batch);
+            // Пока шёл запрос, кого-то могли удалить: результат отдаём, но не кэшируем
+            if (epoch.get() == startEpoch) {
+                cache.putAll(users);
+            }
+            batch.forEach(userId -> inFlight.remove(userId).complete(users.get(userId)));
+        } catch (Exception e) {
+            log.warn("Не удалось загрузить пользователей {}: {}", batch, e.getMessage());
+            batch.forEach(userId -> inFlight.remove(userId).completeExceptionally(e));
+        }
+    }
+
+    private Map<Long, UserShortDto> loadDirectly(List<Long> userIds) {
+        long startEpoch = epoch.get();
+        Map<Long, UserShortDto> users = userClient.getByIds(userIds);
+        if (epoch.get() == startEpoch) {
+            cache.putAll(users);
+        }
+        return users;
+    }
+
+    private static UserShortDto await(CompletableFuture<UserShortDto> future, long timeoutNanos)
+            throws TimeoutException {
+        try {
+            return future.get(Math.max(timeoutNanos, 0), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CompletionException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+    }
+
+    private static double hitRatio(TtlCache<Long, UserShortDto> cache) {
+        long hits = cache.getHitCount();
+        long total = hits + cache.getMissCount();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+        fetchExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,22 @@
+package feign.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Принимает от user-service уведомления об удалении пользователей.
+ */
+@RestController
+@RequestMapping("/api/cache/users")
+@RequiredArgsConstructor
+public class UserCacheController {
+    private final UserCache userCache;
+
+    @DeleteMapping("/{id}")
+    public void invalidate(@PathVariable("id") Long id) {
+        userCache.invalidate(id);
+    }
+}
@@ -0,0 +1,73 @@
+package util.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Сбрасывает запись в локальных кэшах всех экземпляров сервисов-потребителей запросом DELETE {path}/{id}.
+ * Рассылка идёт после коммита в отдельном потоке и с таймаутами, поэтому недоступный экземпляр
+ * не задерживает ответ на изменивший данные запрос. Недоставленное уведомление не критично:
+ * запись всё равно истечёт по ttl.
+ */
+@Slf4j
+public class PeerCacheInvalidator {
+    private final DiscoveryClient discoveryClient;
+    private final RestClient restClient;
+    private final List<String> subscribers;
+    private final String path;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public PeerCacheInvalidator(DiscoveryClient discoveryClient, RestClient.Builder restClientBuilder,
+                                List<String> subscribers, String path, Duration timeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeout);
+        requestFactory.setReadTimeout(timeout);
+
+        this.discoveryClient = discoveryClient;
+        this.restClient = restClientBuilder.clone().requestFactory(requestFactory).build();
+        this.subscribers = subscribers;
+        this.path = path;
+    }
+
+    public void invalidateAfterCommit(Long id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            executor.execute(() -> invalidate(id));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                executor.execute(() -> invalidate(id));
+            }
+        });
+    }
+
+    private void invalidate(Long id) {
+        for (String serviceId : subscribers) {
+            for (ServiceInstance instance : discoveryClient.getInstances(serviceId)) {
+                executor.execute(() -> invalidate(instance, id));
+            }
+        }
+    }
+
+    private void invalidate(ServiceInstance instance, Long id) {
+        try {
+            restClient.delete()
+                    .uri(instance.getUri() + path + "/{id}", id)
+                    .retrieve()
+                    .toBodilessEntity();
+        } catch (Exception e) {
+            log.warn("Не удалось сбросить запись {} кэша {} в {}: {}", id, path, instance.getUri(), e.getMessage());
+        }
+    }
+}
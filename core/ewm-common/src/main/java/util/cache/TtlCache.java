@@ -0,0 +1,193 @@
+package util.cache;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Ограниченный по размеру LRU-кэш с двумя сроками жизни записи: в течение freshTtl значение отдаётся как есть,
+ * до staleTtl отдаётся устаревшее значение и запускается фоновое обновление, после staleTtl запись считается
+ * промахом и загружается синхронно.
+ * Результат загрузки, начатой до любого invalidate, в кэш не попадает: иначе загрузка, прочитавшая
+ * данные до коммита, перезаписала бы только что сброшенную запись устаревшим значением.
+ */
+public class TtlCache<K, V> {
+    private final int maxSize;
+    private final long freshTtlMs;
+    private final long staleTtlMs;
+    private final Clock clock;
+
+    private final Map<K, Entry<V>> entries;
+    private final Set<K> refreshing = ConcurrentHashMap.newKeySet();
+    private final AtomicLong epoch = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong staleHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public TtlCache(int maxSize, long freshTtlMs, long staleTtlMs) {
+        this(maxSize, freshTtlMs, staleTtlMs, Clock.systemUTC());
+    }
+
+    public TtlCache(int maxSize, long freshTtlMs, long staleTtlMs, Clock clock) {
+        this.maxSize = maxSize;
+        this.freshTtlMs = freshTtlMs;
+        this.staleTtlMs = Math.max(freshTtlMs, staleTtlMs);
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > TtlCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Возвращает значения для всех ключей: отсутствующие и просроченные загружаются одним вызовом loader,
+     * устаревшие обновляются тем же loader в фоне через refreshExecutor.
+     * Ключи, для которых loader ничего не вернул, в результат не попадают.
+     */
+    public Map<K, V> getAll(Collection<K> keys, Function<List<K>, Map<K, V>> loader, Executor refreshExecutor) {
+        Map<K, V> result = new HashMap<>();
+        List<K> missing = new ArrayList<>();
+        List<K> stale = new ArrayList<>();
+        long now = clock.millis();
+
+        synchronized (entries) {
+            for (K key : keys) {
+                Entry<V> entry = entries.get(key);
+                long age = entry == null ? Long.MAX_VALUE : now - entry.loadedAt();
+                if (age <= freshTtlMs) {
+                    hits.incrementAndGet();
+                    result.put(key, entry.value());
+                } else if (age <= staleTtlMs) {
+                    staleHits.incrementAndGet();
+                    result.put(key, entry.value());
+                    stale.add(key);
+                } else {
+                    misses.incrementAndGet();
+                    missing.add(key);
+                }
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            long startEpoch = epoch.get();
+            Map<K, V> loaded = loader.apply(missing);
+            putAllIfNotInvalidated(loaded, startEpoch);
+            result.putAll(loaded);
+        }
+
+        List<K> toRefresh = stale.stream()
+                .filter(refreshing::add)
+                .toList();
+        if (!toRefresh.isEmpty()) {
+            refreshExecutor.execute(() -> {
+                try {
+                    long startEpoch = epoch.get();
+                    putAllIfNotInvalidated(loader.apply(toRefresh), startEpoch);
+                } finally {
+                    toRefresh.forEach(refreshing::remove);
+                }
+            });
+        }
+
+        return result;
+    }
+
+    public V get(K key, Function<List<K>, Map<K, V>> loader, Executor refreshExecutor) {
+        return getAll(List.of(key), loader, refreshExecutor).get(key);
+    }
+
+    /**
+     * Возвращает значение, пока запись не старше staleTtl, без загрузки и фонового обновления.
+     */
+    public V getIfPresent(K key) {
+        long now = clock.millis();
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry == null || now - entry.loadedAt() > staleTtlMs) {
+                misses.incrementAndGet();
+                return null;
+            }
+            if (now - entry.loadedAt() <= freshTtlMs) {
+                hits.incrementAndGet();
+            } else {
+                staleHits.incrementAndGet();
+            }
+            return entry.value();
+        }
+    }
+
+    public void put(K key, V value) {
+        putAll(Map.of(key, value));
+    }
+
+    public void putAll(Map<K, V> values) {
+        long now = clock.millis();
+        synchronized (entries) {
+            values.forEach((key, value) -> entries.put(key, new Entry<>(value, now)));
+        }
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            epoch.incrementAndGet();
+            entries.remove(key);
+        }
+    }
+
+    public void invalidateAll(Collection<K> keys) {
+        synchronized (entries) {
+            epoch.incrementAndGet();
+            keys.forEach(entries::remove);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            epoch.incrementAndGet();
+            entries.clear();
+        }
+    }
+
+    private void putAllIfNotInvalidated(Map<K, V> values, long startEpoch) {
+        long now = clock.millis();
+        synchronized (entries) {
+            if (epoch.get() != startEpoch) {
+                return;
+            }
+            values.forEach((key, value) -> entries.put(key, new Entry<>(value, now)));
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getStaleHitCount() {
+        return staleHits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    private record Entry<V>(V value, long loadedAt) {
+    }
+}
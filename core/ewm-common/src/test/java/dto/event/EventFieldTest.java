@@ -0,0 +1,32 @@
+package dto.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventFieldTest {
+
+    @Test
+    void parsesCamelCaseAndKebabCaseNames() {
+        assertThat(EventField.parse(List.of("state", "confirmedRequests", "confirmed-requests", " views ")))
+                .containsExactlyInAnyOrder(EventField.STATE, EventField.CONFIRMED_REQUESTS, EventField.VIEWS);
+    }
+
+    @Test
+    void emptyNamesMeanAllFields() {
+        assertThat(EventField.parse(List.of())).isEqualTo(EnumSet.allOf(EventField.class));
+        assertThat(EventField.parse(null)).isEqualTo(EnumSet.allOf(EventField.class));
+    }
+
+    @Test
+    void unknownNameIsRejectedWithAllowedFields() {
+        assertThatThrownBy(() -> EventField.parse(List.of("state", "title")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("'title'")
+                .hasMessageContaining("state, limits, initiator, confirmedRequests, views");
+    }
+}
@@ -0,0 +1,61 @@
+package feign.event;
+
+import dto.event.EventMetadataDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EventMetadataCacheTest {
+    private final EventClient eventClient = mock(EventClient.class);
+    private final EventMetadataCache cache = new EventMetadataCache(eventClient, 100, 60_000,
+            new SimpleMeterRegistry());
+
+    @Test
+    void publishedEventIsCachedUntilInvalidated() {
+        when(eventClient.getMetadata(1L)).thenReturn(metadata(1L, "PUBLISHED", 10L));
+
+        cache.get(1L);
+        cache.get(1L);
+        verify(eventClient, times(1)).getMetadata(1L);
+
+        cache.invalidate(1L);
+        cache.get(1L);
+        verify(eventClient, times(2)).getMetadata(1L);
+    }
+
+    @Test
+    void unpublishedEventIsReadEveryTime() {
+        when(eventClient.getMetadata(2L)).thenReturn(metadata(2L, "PENDING", 10L));
+
+        cache.get(2L);
+        assertThat(cache.get(2L).getState()).isEqualTo("PENDING");
+
+        verify(eventClient, times(2)).getMetadata(2L);
+    }
+
+    @Test
+    void metadataWithoutInitiatorIsNotCached() {
+        // Неполные метаданные, например ответ fallback, не должны закрепиться в кэше
+        when(eventClient.getMetadata(3L)).thenReturn(metadata(3L, "PUBLISHED", null));
+
+        cache.get(3L);
+        cache.get(3L);
+
+        verify(eventClient, times(2)).getMetadata(3L);
+    }
+
+    private static EventMetadataDto metadata(Long id, String state, Long initiator) {
+        return EventMetadataDto.builder()
+                .id(id)
+                .state(state)
+                .initiator(initiator)
+                .participantLimit(0)
+                .requestModeration(true)
+                .build();
+    }
+}
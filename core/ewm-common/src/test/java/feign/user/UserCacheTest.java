@@ -0,0 +1,113 @@
+package feign.user;
+
+import dto.user.UserShortDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserCacheTest {
+    private final UserClient userClient = mock(UserClient.class);
+    private UserCache userCache;
+
+    @AfterEach
+    void tearDown() {
+        userCache.shutdown();
+    }
+
+    @Test
+    void parallelMissesAreCoalescedIntoOneBatch() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(userClient.getByIds(anyList())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return users(invocation.getArgument(0));
+        });
+        userCache = userCache(100, 5_000);
+
+        List<Future<Map<Long, UserShortDto>>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 8; i++) {
+                long userId = 1 + i % 4;
+                results.add(executor.submit(() -> userCache.getByIds(List.of(userId))));
+            }
+            Thread.sleep(300);
+            release.countDown();
+            for (Future<Map<Long, UserShortDto>> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).hasSize(1);
+            }
+        }
+
+        verify(userClient, times(1)).getByIds(anyList());
+        assertThat(userCache.getByIds(List.of(1L, 2L, 3L, 4L))).hasSize(4);
+        verify(userClient, times(1)).getByIds(anyList());
+    }
+
+    @Test
+    void loadRacedByInvalidationIsReturnedButNotCached() {
+        when(userClient.getByIds(anyList())).thenAnswer(invocation -> {
+            // Пользователя удалили, пока шёл запрос
+            userCache.invalidate(1L);
+            return users(invocation.getArgument(0));
+        });
+        userCache = userCache(1, 5_000);
+
+        assertThat(userCache.getById(1L).getId()).isEqualTo(1L);
+        userCache.getById(1L);
+
+        verify(userClient, times(2)).getByIds(anyList());
+    }
+
+    @Test
+    void hungBatchFallsBackToDirectLoadAfterTimeout() {
+        CountDownLatch release = new CountDownLatch(1);
+        Thread caller = Thread.currentThread();
+        AtomicInteger directLoads = new AtomicInteger();
+        // Зависает только пакетная загрузка (id могут попасть в разные пакеты): прямая идёт в потоке вызывающего
+        when(userClient.getByIds(anyList())).thenAnswer(invocation -> {
+            if (Thread.currentThread() == caller) {
+                directLoads.incrementAndGet();
+            } else {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return users(invocation.getArgument(0));
+        });
+        userCache = userCache(1, 100);
+
+        try {
+            long startedAt = System.nanoTime();
+            assertThat(userCache.getByIds(List.of(1L, 2L))).containsOnlyKeys(1L, 2L);
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)).isLessThan(2_000);
+        } finally {
+            release.countDown();
+        }
+        assertThat(directLoads).hasValue(1);
+    }
+
+    private UserCache userCache(long batchWindowMs, long waitTimeoutMs) {
+        return new UserCache(userClient, 100, 60_000, batchWindowMs, 200, waitTimeoutMs,
+                new SimpleMeterRegistry());
+    }
+
+    private static Map<Long, UserShortDto> users(List<Long> ids) {
+        return ids.stream().collect(Collectors.toMap(Function.identity(),
+                id -> UserShortDto.builder().id(id).name("user " + id).build()));
+    }
+}
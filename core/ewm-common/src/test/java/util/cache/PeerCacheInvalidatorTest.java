@@ -0,0 +1,77 @@
+package util.cache;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.web.client.RestClient;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PeerCacheInvalidatorTest {
+    private final DiscoveryClient discoveryClient = mock(DiscoveryClient.class);
+    private final LinkedBlockingQueue<String> received = new LinkedBlockingQueue<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private HttpServer healthy;
+    private HttpServer hanging;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        healthy.stop(0);
+        hanging.stop(0);
+    }
+
+    @Test
+    void hangingPeerDoesNotBlockCallerOrOtherPeers() throws Exception {
+        healthy = server(false);
+        hanging = server(true);
+        when(discoveryClient.getInstances("request-service"))
+                .thenReturn(List.of(instance(hanging), instance(healthy)));
+
+        PeerCacheInvalidator invalidator = new PeerCacheInvalidator(discoveryClient, RestClient.builder(),
+                List.of("request-service"), "/api/cache/events", Duration.ofMillis(500));
+
+        long startedAt = System.nanoTime();
+        invalidator.invalidateAfterCommit(42L);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        assertThat(elapsedMs).isLessThan(100);
+        assertThat(received.poll(5, TimeUnit.SECONDS)).isEqualTo("DELETE /api/cache/events/42");
+    }
+
+    private HttpServer server(boolean hang) throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            if (hang) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            } else {
+                received.add(exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath());
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        return server;
+    }
+
+    private static ServiceInstance instance(HttpServer server) {
+        return new DefaultServiceInstance(null, "request-service", "localhost",
+                server.getAddress().getPort(), false);
+    }
+}
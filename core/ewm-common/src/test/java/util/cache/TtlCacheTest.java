@@ -0,0 +1,172 @@
+package util.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TtlCacheTest {
+    private static final long FRESH_TTL_MS = 1_000;
+    private static final long STALE_TTL_MS = 5_000;
+
+    private final MutableClock clock = new MutableClock();
+    private final QueuedExecutor refreshExecutor = new QueuedExecutor();
+    private final TtlCache<Long, String> cache = new TtlCache<>(3, FRESH_TTL_MS, STALE_TTL_MS, clock);
+    private final List<List<Long>> loads = new ArrayList<>();
+
+    @Test
+    void freshValueIsServedWithoutLoading() {
+        cache.getAll(List.of(1L, 2L), loader("v1"), refreshExecutor);
+        clock.advance(FRESH_TTL_MS);
+
+        assertThat(cache.getAll(List.of(1L, 2L), loader("v2"), refreshExecutor))
+                .containsEntry(1L, "v1").containsEntry(2L, "v1");
+        assertThat(loads).containsExactly(List.of(1L, 2L));
+        assertThat(cache.getHitCount()).isEqualTo(2);
+        assertThat(cache.getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    void staleValueIsServedWhileRefreshRunsInBackground() {
+        cache.getAll(List.of(1L), loader("v1"), refreshExecutor);
+        clock.advance(FRESH_TTL_MS + 1);
+
+        assertThat(cache.get(1L, loader("v2"), refreshExecutor)).isEqualTo("v1");
+        assertThat(cache.getStaleHitCount()).isEqualTo(1);
+        assertThat(loads).hasSize(1);
+
+        refreshExecutor.runAll();
+        assertThat(cache.get(1L, loader("v3"), refreshExecutor)).isEqualTo("v2");
+        assertThat(loads).hasSize(2);
+    }
+
+    @Test
+    void concurrentStaleReadsShareOneRefresh() {
+        cache.getAll(List.of(1L), loader("v1"), refreshExecutor);
+        clock.advance(FRESH_TTL_MS + 1);
+
+        cache.get(1L, loader("v2"), refreshExecutor);
+        cache.get(1L, loader("v2"), refreshExecutor);
+
+        assertThat(refreshExecutor.tasks).hasSize(1);
+        refreshExecutor.runAll();
+
+        clock.advance(FRESH_TTL_MS + 1);
+        cache.get(1L, loader("v3"), refreshExecutor);
+        assertThat(refreshExecutor.tasks).hasSize(1);
+    }
+
+    @Test
+    void valueOlderThanStaleTtlIsLoadedSynchronously() {
+        cache.getAll(List.of(1L), loader("v1"), refreshExecutor);
+        clock.advance(STALE_TTL_MS + 1);
+
+        assertThat(cache.get(1L, loader("v2"), refreshExecutor)).isEqualTo("v2");
+        assertThat(refreshExecutor.tasks).isEmpty();
+        assertThat(cache.getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    void invalidationDuringRefreshDiscardsRefreshedValue() {
+        cache.getAll(List.of(1L), loader("v1"), refreshExecutor);
+        clock.advance(FRESH_TTL_MS + 1);
+        cache.get(1L, keys -> {
+            // Запись изменили и сбросили, пока шла загрузка
+            cache.invalidate(1L);
+            return Map.of(1L, "v2");
+        }, refreshExecutor);
+
+        refreshExecutor.runAll();
+
+        assertThat(cache.getIfPresent(1L)).isNull();
+    }
+
+    @Test
+    void keysMissingFromLoaderResultAreNotReturnedOrCached() {
+        Function<List<Long>, Map<Long, String>> onlyOdd = keys -> {
+            loads.add(keys);
+            return keys.stream()
+                    .filter(key -> key % 2 == 1)
+                    .collect(Collectors.toMap(Function.identity(), key -> "v"));
+        };
+
+        assertThat(cache.getAll(List.of(1L, 2L), onlyOdd, refreshExecutor)).containsOnlyKeys(1L);
+        cache.getAll(List.of(1L, 2L), onlyOdd, refreshExecutor);
+
+        assertThat(loads).containsExactly(List.of(1L, 2L), List.of(2L));
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvictedBeyondMaxSize() {
+        cache.put(1L, "a");
+        cache.put(2L, "b");
+        cache.put(3L, "c");
+        cache.getIfPresent(1L);
+
+        cache.put(4L, "d");
+
+        assertThat(cache.size()).isEqualTo(3);
+        assertThat(cache.getIfPresent(2L)).isNull();
+        assertThat(cache.getIfPresent(1L)).isEqualTo("a");
+    }
+
+    private Function<List<Long>, Map<Long, String>> loader(String value) {
+        return keys -> {
+            loads.add(keys);
+            return keys.stream().collect(Collectors.toMap(Function.identity(), key -> value));
+        };
+    }
+
+    private static final class QueuedExecutor implements Executor {
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public void execute(Runnable task) {
+            tasks.add(task);
+        }
+
+        void runAll() {
+            List<Runnable> queued = List.copyOf(tasks);
+            tasks.clear();
+            queued.forEach(Runnable::run);
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private long millis = 1_000_000;
+
+        void advance(long deltaMs) {
+            millis += deltaMs;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package util.test;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+
+/**
+ * Медианная задержка запроса с индексом и без него на засеянных данных. Индекс удаляется в транзакции,
+ * которая затем откатывается, поэтому схема после замера не меняется; запрос выполняется в той же
+ * транзакции и не видит удалённый индекс.
+ */
+public final class IndexBenchmark {
+    private static final int WARMUP_RUNS = 5;
+
+    private IndexBenchmark() {
+    }
+
+    public static Result measure(PlatformTransactionManager transactionManager, JdbcTemplate jdbcTemplate,
+                                 String index, int runs, Runnable query) {
+        long withIndex = median(runs, query);
+        Long withoutIndex = new TransactionTemplate(transactionManager).execute(status -> {
+            jdbcTemplate.execute("DROP INDEX " + index);
+            status.setRollbackOnly();
+            return median(runs, query);
+        });
+        return new Result(withIndex, withoutIndex);
+    }
+
+    private static long median(int runs, Runnable query) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            query.run();
+        }
+        long[] nanos = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long started = System.nanoTime();
+            query.run();
+            nanos[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(nanos);
+        return nanos[runs / 2];
+    }
+
+    public record Result(long withIndexNanos, long withoutIndexNanos) {
+        public double speedup() {
+            return (double) withoutIndexNanos / withIndexNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("с индексом %d мкс, без индекса %d мкс, ускорение x%.1f",
+                    withIndexNanos / 1_000, withoutIndexNanos / 1_000, speedup());
+        }
+    }
+}
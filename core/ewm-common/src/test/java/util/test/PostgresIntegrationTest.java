@@ -0,0 +1,44 @@
+package util.test;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * База интеграционных тестов с PostgreSQL. По умолчанию поднимается контейнер Testcontainers;
+ * переменные окружения TEST_POSTGRES_URL, TEST_POSTGRES_USER и TEST_POSTGRES_PASSWORD подключают уже
+ * запущенную базу. Без Docker и без внешней базы тесты пропускаются.
+ * Общий для всех сервисов: подключается зависимостью на test-jar модуля ewm-common.
+ */
+public abstract class PostgresIntegrationTest {
+    private static final String EXTERNAL_URL = System.getenv("TEST_POSTGRES_URL");
+
+    private static PostgreSQLContainer<?> container;
+
+    @BeforeAll
+    static void startPostgres() {
+        if (EXTERNAL_URL != null || container != null) {
+            return;
+        }
+        Assumptions.assumeTrue(DockerClientFactory.instance().isDockerAvailable(),
+                "Docker недоступен и TEST_POSTGRES_URL не задан");
+        container = new PostgreSQLContainer<>("postgres:16-alpine");
+        container.start();
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        if (EXTERNAL_URL != null) {
+            registry.add("spring.datasource.url", () -> EXTERNAL_URL);
+            registry.add("spring.datasource.username", () -> System.getenv().getOrDefault("TEST_POSTGRES_USER", "user"));
+            registry.add("spring.datasource.password", () -> System.getenv().getOrDefault("TEST_POSTGRES_PASSWORD", ""));
+        } else {
+            registry.add("spring.datasource.url", () -> container.getJdbcUrl());
+            registry.add("spring.datasource.username", () -> container.getUsername());
+            registry.add("spring.datasource.password", () -> container.getPassword());
+        }
+    }
+}
@@ -16,6 +16,6 @@ public class InnerRequestController implements RequestOperations {
 
     @GetMapping
     public List<EventConfirmedRequestsDto> getRequestsByEventIds(@RequestParam List<Long> eventIds) {
-        return requestRepository.findConfirmedRequestsCountByEventIds(eventIds);
+        return requestRepository.findVersionedConfirmedRequests(eventIds);
     }
 }
@@ -0,0 +1,20 @@
+package request.dal.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "event_capacity")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventCapacity {
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(nullable = false)
+    private Long confirmed;
+}
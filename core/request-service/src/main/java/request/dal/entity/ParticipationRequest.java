@@ -17,7 +17,7 @@ public class ParticipationRequest {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @JoinColumn (name = "event_id", nullable = false)
+    @Column(name = "event_id", nullable = false)
     private Long event;
 
     @Column (name = "requester_id", nullable = false)
@@ -0,0 +1,32 @@
+package request.dal.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import request.dal.entity.EventCapacity;
+
+public interface EventCapacityRepository extends JpaRepository<EventCapacity, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO event_capacity (event_id, confirmed) " +
+            "SELECT :eventId, COUNT(*) FROM participation_requests " +
+            "WHERE event_id = :eventId AND status = 'CONFIRMED' " +
+            "ON CONFLICT (event_id) DO NOTHING", nativeQuery = true)
+    void insertIfAbsent(@Param("eventId") Long eventId);
+
+    @Modifying
+    @Query(value = "UPDATE event_capacity SET confirmed = confirmed + :count " +
+            "WHERE event_id = :eventId " +
+            "AND (:participantLimit = 0 OR confirmed + :count <= :participantLimit)", nativeQuery = true)
+    int tryReserve(@Param("eventId") Long eventId, @Param("count") long count,
+                   @Param("participantLimit") int participantLimit);
+
+    @Modifying
+    @Query(value = "UPDATE event_capacity SET confirmed = GREATEST(confirmed - :count, 0) " +
+            "WHERE event_id = :eventId", nativeQuery = true)
+    int release(@Param("eventId") Long eventId, @Param("count") long count);
+
+    @Query("SELECT c.confirmed FROM EventCapacity c WHERE c.eventId = :eventId")
+    Long findConfirmedByEventId(@Param("eventId") Long eventId);
+}
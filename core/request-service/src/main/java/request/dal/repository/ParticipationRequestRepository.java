@@ -7,7 +7,9 @@ import org.springframework.data.repository.query.Param;
 import request.dal.entity.ParticipationRequest;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 public interface ParticipationRequestRepository extends JpaRepository<ParticipationRequest, Long> {
 
@@ -20,6 +22,25 @@ public interface ParticipationRequestRepository extends JpaRepository<Participat
             "GROUP BY pr.event")
     List<EventConfirmedRequestsDto> findConfirmedRequestsCountByEventIds(@Param("eventIds") List<Long> eventIds);
 
+    @Query(value = "SELECT nextval('confirmed_requests_version_seq')", nativeQuery = true)
+    long nextConfirmedRequestsVersion();
+
+    /**
+     * Число подтверждённых заявок каждого события, включая нулевые, с версией значения. Версия берётся
+     * из последовательности до подсчёта отдельным запросом: чтение, начатое после коммита изменения,
+     * получит версию больше, чем любое чтение, снимок которого это изменение не видел.
+     */
+    default List<EventConfirmedRequestsDto> findVersionedConfirmedRequests(List<Long> eventIds) {
+        long version = nextConfirmedRequestsVersion();
+        Map<Long, Long> counts = findConfirmedRequestsCountByEventIds(eventIds).stream()
+                .collect(Collectors.toMap(EventConfirmedRequestsDto::getEventId,
+                        EventConfirmedRequestsDto::getConfirmedCount));
+        return eventIds.stream()
+                .distinct()
+                .map(eventId -> new EventConfirmedRequestsDto(eventId, counts.getOrDefault(eventId, 0L), version))
+                .toList();
+    }
+
     @Query("SELECT pr FROM ParticipationRequest pr " +
             "WHERE pr.requester = :userId")
     List<ParticipationRequest> findAllByRequesterIdWithEventAndRequester(@Param("userId") Long userId);
@@ -0,0 +1,7 @@
+package request.dal.repository;
+
+/**
+ * Сводка по набору заявок для проверки массовой смены статуса одним запросом.
+ */
+public record RequestBatchSummary(long found, long pending, long ofEvent) {
+}
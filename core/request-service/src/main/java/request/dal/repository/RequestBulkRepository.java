@@ -0,0 +1,84 @@
+package request.dal.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import request.dal.entity.ParticipationRequest;
+import request.dal.entity.RequestStatus;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class RequestBulkRepository {
+    private static final String SUMMARIZE_SQL =
+            "SELECT COUNT(*), " +
+            "COUNT(*) FILTER (WHERE status = 'PENDING'), " +
+            "COUNT(*) FILTER (WHERE event_id = ?) " +
+            "FROM participation_requests WHERE id = ANY(?)";
+    private static final String UPDATE_PENDING_STATUS_SQL =
+            "UPDATE participation_requests SET status = ? " +
+            "WHERE id = ANY(?) AND event_id = ? AND status = 'PENDING' " +
+            "RETURNING id, event_id, requester_id, created";
+    private static final String INSERT_OUTBOX_SQL =
+            "INSERT INTO request_outbox (request_id, event_id, status, created_at) VALUES (?, ?, ?, ?)";
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RequestBatchSummary summarize(Long eventId, Collection<Long> requestIds) {
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SUMMARIZE_SQL);
+            ps.setLong(1, eventId);
+            ps.setArray(2, toBigintArray(con, requestIds));
+            return ps;
+        }, rs -> {
+            rs.next();
+            return new RequestBatchSummary(rs.getLong(1), rs.getLong(2), rs.getLong(3));
+        });
+    }
+
+    // Обновляет только заявки события в статусе PENDING и возвращает их без повторного чтения
+    public List<ParticipationRequest> updatePendingStatus(Long eventId, Collection<Long> requestIds,
+                                                          RequestStatus status) {
+        List<ParticipationRequest> updated = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(UPDATE_PENDING_STATUS_SQL);
+            ps.setString(1, status.name());
+            ps.setArray(2, toBigintArray(con, requestIds));
+            ps.setLong(3, eventId);
+            return ps;
+        }, (rs, rowNum) -> ParticipationRequest.builder()
+                .id(rs.getLong("id"))
+                .event(rs.getLong("event_id"))
+                .requester(rs.getLong("requester_id"))
+                .created(rs.getTimestamp("created") != null ? rs.getTimestamp("created").toLocalDateTime() : null)
+                .status(status)
+                .build());
+
+        return updated.stream()
+                .sorted(Comparator.comparing(ParticipationRequest::getId))
+                .toList();
+    }
+
+    public void insertOutboxEvents(Collection<ParticipationRequest> requests, LocalDateTime createdAt) {
+        Timestamp timestamp = Timestamp.valueOf(createdAt);
+        jdbcTemplate.batchUpdate(INSERT_OUTBOX_SQL, requests, BATCH_SIZE, (ps, request) -> {
+            ps.setLong(1, request.getId());
+            ps.setLong(2, request.getEvent());
+            ps.setString(3, request.getStatus().name());
+            ps.setTimestamp(4, timestamp);
+        });
+    }
+
+    private static Array toBigintArray(Connection con, Collection<Long> ids) throws SQLException {
+        return con.createArrayOf("bigint", ids.toArray());
+    }
+}
@@ -0,0 +1,21 @@
+package request.dal.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import request.dal.entity.RequestOutboxEvent;
+
+import java.util.List;
+
+public interface RequestOutboxRepository extends JpaRepository<RequestOutboxEvent, Long> {
+
+    @Query(value = "SELECT * FROM request_outbox " +
+            "ORDER BY id " +
+            "LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<RequestOutboxEvent> lockNextBatch(@Param("limit") int limit);
+
+    // Блокировка до конца транзакции, общая для всех экземпляров сервиса
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryLockRelay(@Param("key") long key);
+}
@@ -0,0 +1,47 @@
+package request.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import request.dal.repository.EventCapacityRepository;
+
+/**
+ * Локальный учёт занятых мест события.
+ * Подтверждение проходит одним условным UPDATE, поэтому параллельные заявки не превышают лимит,
+ * а блокируется только строка конкретного события и только до конца транзакции.
+ * Лимит в таблице не хранится: его передаёт вызывающий из метаданных события, так что экземпляры
+ * с разными по свежести кэшами не переписывают общую строку.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventCapacityLedger {
+    private final EventCapacityRepository capacityRepository;
+
+    // Строка создаётся один раз из уже подтверждённых заявок и дальше меняется только резервированием
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void track(Long eventId) {
+        if (!capacityRepository.existsById(eventId)) {
+            capacityRepository.insertIfAbsent(eventId);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean tryReserve(Long eventId, long count, Integer participantLimit) {
+        int limit = participantLimit != null ? participantLimit : 0;
+        return count == 0 || capacityRepository.tryReserve(eventId, count, limit) == 1;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(Long eventId, long count) {
+        if (count > 0) {
+            capacityRepository.release(eventId, count);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long getConfirmed(Long eventId) {
+        Long confirmed = capacityRepository.findConfirmedByEventId(eventId);
+        return confirmed != null ? confirmed : 0L;
+    }
+}
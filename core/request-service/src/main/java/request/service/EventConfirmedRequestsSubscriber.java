@@ -0,0 +1,37 @@
+package request.service;
+
+import feign.event.EventClient;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import request.dal.entity.RequestOutboxEvent;
+import request.dal.entity.RequestStatus;
+import request.dal.repository.ParticipationRequestRepository;
+
+import java.util.List;
+
+/**
+ * Передаёт в event-service актуальное число подтверждённых заявок затронутых событий.
+ * Отправляется абсолютное значение с версией, поэтому повторная доставка безопасна.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventConfirmedRequestsSubscriber implements RequestChangeSubscriber {
+    private final ParticipationRequestRepository requestRepository;
+    private final EventClient eventClient;
+
+    @Override
+    public void onRequestChanges(List<RequestOutboxEvent> changes) {
+        // Заявки в PENDING и REJECTED не меняют число подтверждённых
+        List<Long> eventIds = changes.stream()
+                .filter(change -> change.getStatus() == RequestStatus.CONFIRMED
+                        || change.getStatus() == RequestStatus.CANCELED)
+                .map(RequestOutboxEvent::getEventId)
+                .distinct()
+                .toList();
+        if (eventIds.isEmpty()) {
+            return;
+        }
+
+        eventClient.updateConfirmedRequests(requestRepository.findVersionedConfirmedRequests(eventIds));
+    }
+}
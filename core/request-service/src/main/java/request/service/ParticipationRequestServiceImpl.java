@@ -1,12 +1,12 @@
 package request.service;
 
 
-import dto.event.EventFullDto;
+import dto.event.EventMetadataDto;
 import dto.request.EventRequestStatusUpdateRequest;
 import dto.request.EventRequestStatusUpdateResult;
 import dto.request.ParticipationRequestDto;
-import feign.event.EventClient;
-import feign.user.UserClient;
+import feign.event.EventMetadataCache;
+import feign.user.UserCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -15,13 +15,16 @@ import request.dal.entity.ParticipationRequest;
 import request.dal.entity.RequestStatus;
 import request.dal.mapper.ParticipationRequestMapper;
 import request.dal.repository.ParticipationRequestRepository;
+import request.dal.repository.RequestBatchSummary;
+import request.dal.repository.RequestBulkRepository;
 import util.exception.ConflictException;
 import util.exception.NotFoundException;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,13 +33,16 @@ import java.util.stream.Collectors;
 public class ParticipationRequestServiceImpl implements ParticipationRequestService {
 
     private final ParticipationRequestRepository requestRepository;
-    private final UserClient userClient;
-    private final EventClient eventClient;
+    private final RequestBulkRepository bulkRepository;
+    private final UserCache userCache;
+    private final EventMetadataCache eventMetadataCache;
     private final ParticipationRequestMapper requestMapper;
+    private final RequestOutbox requestOutbox;
+    private final EventCapacityLedger capacityLedger;
 
     @Override
     public List<ParticipationRequestDto> getUserRequests(Long userId) {
-        if (userClient.getById(userId) == null) {
+        if (!userCache.getByIds(List.of(userId)).containsKey(userId)) {
             throw new NotFoundException("Пользователь с id = " + userId + " не найден");
         }
 
@@ -50,7 +56,7 @@ public class ParticipationRequestServiceImpl implements ParticipationRequestServ
     public ParticipationRequestDto createRequest(Long userId, Long eventId) {
         log.info("Создание запроса для пользователя с id: {} на событие с id: {}", userId, eventId);
 
-        EventFullDto event = eventClient.getById(eventId);
+        EventMetadataDto event = eventMetadataCache.get(eventId);
 
         if (event == null) {
             throw new NotFoundException("Событие с id=" + eventId + " не найдено");
@@ -60,7 +66,7 @@ public class ParticipationRequestServiceImpl implements ParticipationRequestServ
             throw new RuntimeException("Не удалось получить автора события");
         }
 
-        if (event.getInitiator().getId().equals(userId)) {
+        if (event.getInitiator().equals(userId)) {
             throw new ConflictException("Нельзя участвовать в собственном событии");
         }
 
@@ -72,18 +78,19 @@ public class ParticipationRequestServiceImpl implements ParticipationRequestServ
             throw new ConflictException("Запрос на участие в этом событии уже существует");
         }
 
-        Map<Long, Long> confirmedRequestsMap = eventClient.getConfirmedRequestsBatchByEventIds(List.of(eventId));
-        Long confirmedRequests = confirmedRequestsMap.getOrDefault(eventId, 0L);
-
-        if (event.getParticipantLimit() > 0 && confirmedRequests >= event.getParticipantLimit()) {
-            throw new ConflictException("Достигнут лимит участников для этого события");
-        }
+        capacityLedger.track(eventId);
 
         RequestStatus status;
         if (!event.getRequestModeration() || event.getParticipantLimit() == 0) {
             status = RequestStatus.CONFIRMED;
+            if (!capacityLedger.tryReserve(eventId, 1, event.getParticipantLimit())) {
+                throw participantLimitReached(eventId);
+            }
         } else {
             status = RequestStatus.PENDING;
+            if (capacityLedger.getConfirmed(eventId) >= event.getParticipantLimit()) {
+                throw participantLimitReached(eventId);
+            }
         }
 
         ParticipationRequest request = ParticipationRequest.builder()
@@ -95,6 +102,7 @@ public class ParticipationRequestServiceImpl implements ParticipationRequestServ
 
         ParticipationRequest savedRequest = requestRepository.save(request);
         log.info("Запрос создан с id: {}", savedRequest.getId());
+        requestOutbox.record(List.of(savedRequest));
 
         return requestMapper.toDto(savedRequest);
     }
@@ -105,7 +113,7 @@ public class ParticipationRequestServiceImpl implements ParticipationRequestServ
                                                               EventRequestStatusUpdateRequest request) {
         log.info("Изменение статуса запросов для события с id: {} от пользователя с id: {}", eventId, userId);
 
-        EventFullDto event = eventClient.getById(eventId);
+        EventMetadataDto event = eventMetadataCache.get(eventId);
 
         if (event == null) {
             throw new NotFoundException("Событие с id = " + eventId + " не найдено");
@@ -115,7 +123,7 @@ public class ParticipationRequestServiceImpl implements ParticipationRequestServ
             throw new RuntimeException("Не удалось получить автора события");
         }
 
-        if (!event.getInitiator().getId().equals(userId)) {
+        if (!event.getInitiator().equals(userId)) {
             throw new ConflictException("Пользователь не является инициатором события");
         }
 
@@ -134,47 +142,40 @@ public class ParticipationRequestServiceImpl implements ParticipationRequestServ
             throw new ConflictException("Можно установить только статусы CONFIRMED или REJECTED");
         }
 
-        List<ParticipationRequest> requestsToUpdate =
-                requestRepository.findAllByIdWithEventAndRequester(request.getRequestIds());
+        Set<Long> requestIds = new LinkedHashSet<>(request.getRequestIds());
+        RequestBatchSummary summary = bulkRepository.summarize(eventId, requestIds);
 
-        if (requestsToUpdate.size() != request.getRequestIds().size()) {
+        if (summary.found() != requestIds.size()) {
             throw new NotFoundException("Некоторые запросы не найдены");
         }
 
-        List<ParticipationRequestDto> confirmedRequests = new ArrayList<>();
-        List<ParticipationRequestDto> rejectedRequests = new ArrayList<>();
-
-        Map<Long, Long> confirmedRequestsMap = eventClient.getConfirmedRequestsBatchByEventIds(List.of(eventId));
-        Long currentConfirmedCount = confirmedRequestsMap.getOrDefault(eventId, 0L);
+        if (summary.ofEvent() != summary.found() || summary.pending() != summary.found()) {
+            throw describeInvalidRequests(eventId, requestIds);
+        }
 
-        int participantLimit = event.getParticipantLimit() != null ? event.getParticipantLimit() : 0;
+        capacityLedger.track(eventId);
 
-        for (ParticipationRequest participationRequest : requestsToUpdate) {
-            if (participationRequest.getStatus() != RequestStatus.PENDING) {
-                throw new ConflictException("Можно изменять только запросы в статусе PENDING. " +
-                        "Запрос с id = " + participationRequest.getId() + " имеет статус: " +
-                        participationRequest.getStatus());
-            }
+        if (newStatus == RequestStatus.CONFIRMED
+                && !capacityLedger.tryReserve(eventId, requestIds.size(), event.getParticipantLimit())) {
+            throw participantLimitReached(eventId);
+        }
 
-            if (!participationRequest.getEvent().equals(eventId)) {
-                throw new ConflictException("Запрос с id = " + participationRequest.getId() +
-                        " не принадлежит событию с id = " + eventId);
-            }
+        List<ParticipationRequest> updatedRequests = bulkRepository.updatePendingStatus(eventId, requestIds, newStatus);
 
-            if (newStatus == RequestStatus.CONFIRMED) {
-                if (participantLimit > 0 && currentConfirmedCount >= participantLimit) {
-                    throw new ConflictException("Достигнут лимит участников для события");
-                }
-                participationRequest.setStatus(RequestStatus.CONFIRMED);
-                currentConfirmedCount++;
-                confirmedRequests.add(requestMapper.toDto(participationRequest));
-            } else {
-                participationRequest.setStatus(RequestStatus.REJECTED);
-                rejectedRequests.add(requestMapper.toDto(participationRequest));
-            }
+        // Заявку могли изменить параллельно между проверкой и обновлением
+        if (updatedRequests.size() != requestIds.size()) {
+            throw new ConflictException("Заявки были изменены параллельно, повторите запрос");
         }
 
-        requestRepository.saveAll(requestsToUpdate);
+        requestOutbox.record(updatedRequests);
+
+        List<ParticipationRequestDto> updatedDtos = updatedRequests.stream()
+                .map(requestMapper::toDto)
+                .toList();
+        List<ParticipationRequestDto> confirmedRequests =
+                newStatus == RequestStatus.CONFIRMED ? updatedDtos : List.of();
+        List<ParticipationRequestDto> rejectedRequests =
+                newStatus == RequestStatus.REJECTED ? updatedDtos : List.of();
 
         log.info("Обновлено статусов: подтверждено - {}, отклонено - {}",
                 confirmedRequests.size(), rejectedRequests.size());
@@ -186,21 +187,50 @@ public class ParticipationRequestServiceImpl implements ParticipationRequestServ
     }
 
 
+    // Лимит мог быть увеличен после кэширования события, поэтому следующая попытка перечитает его
+    private ConflictException participantLimitReached(Long eventId) {
+        eventMetadataCache.invalidate(eventId);
+        return new ConflictException("Достигнут лимит участников для этого события");
+    }
+
+    // Подробности нужны только при ошибке, поэтому заявки читаются лишь в этом случае
+    private ConflictException describeInvalidRequests(Long eventId, Collection<Long> requestIds) {
+        for (ParticipationRequest participationRequest :
+                requestRepository.findAllByIdWithEventAndRequester(List.copyOf(requestIds))) {
+            if (participationRequest.getStatus() != RequestStatus.PENDING) {
+                return new ConflictException("Можно изменять только запросы в статусе PENDING. " +
+                        "Запрос с id = " + participationRequest.getId() + " имеет статус: " +
+                        participationRequest.getStatus());
+            }
+
+            if (!participationRequest.getEvent().equals(eventId)) {
+                return new ConflictException("Запрос с id = " + participationRequest.getId() +
+                        " не принадлежит событию с id = " + eventId);
+            }
+        }
+        return new ConflictException("Заявки были изменены параллельно, повторите запрос");
+    }
+
     @Override
     @Transactional
     public ParticipationRequestDto cancelRequest(Long userId, Long requestId) {
         ParticipationRequest request = requestRepository.findByIdWithEventAndRequester(requestId, userId)
                 .orElseThrow(() -> new NotFoundException("Запрос с id=" + requestId + " не найден"));
 
+        if (request.getStatus() == RequestStatus.CONFIRMED) {
+            capacityLedger.release(request.getEvent(), 1);
+        }
+
         request.setStatus(RequestStatus.CANCELED);
         ParticipationRequest updatedRequest = requestRepository.save(request);
+        requestOutbox.record(List.of(updatedRequest));
 
         return requestMapper.toDto(updatedRequest);
     }
 
     @Override
     public List<ParticipationRequestDto> getRequestsByEvent(Long userId, Long eventId) {
-        EventFullDto event = eventClient.getById(eventId);
+        EventMetadataDto event = eventMetadataCache.get(eventId);
 
         if (event == null) {
             throw new NotFoundException("Событие с id = " + eventId + " не найдено");
@@ -210,7 +240,7 @@ public class ParticipationRequestServiceImpl implements ParticipationRequestServ
             throw new RuntimeException("Не удалось получить автора события");
         }
 
-        if (!event.getInitiator().getId().equals(userId)) {
+        if (!event.getInitiator().equals(userId)) {
             throw new ConflictException("Пользователь не является инициатором события");
         }
 
@@ -0,0 +1,13 @@
+package request.service;
+
+import request.dal.entity.RequestOutboxEvent;
+
+import java.util.List;
+
+/**
+ * Получатель изменений статусов заявок, доставляемых из outbox.
+ * Доставка выполняется не менее одного раза, поэтому обработка должна быть идемпотентной.
+ */
+public interface RequestChangeSubscriber {
+    void onRequestChanges(List<RequestOutboxEvent> changes);
+}
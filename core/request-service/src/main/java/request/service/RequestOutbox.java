@@ -0,0 +1,42 @@
+package request.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import request.dal.entity.ParticipationRequest;
+import request.dal.repository.RequestBulkRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Записывает изменения статусов заявок в outbox в той же транзакции, что и само изменение.
+ * После коммита доставка только запрашивается у RequestOutboxRelay и не задерживает ответ.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestOutbox {
+    private final RequestBulkRepository bulkRepository;
+    private final RequestOutboxRelay outboxRelay;
+
+    @Value("${request.outbox.flush-on-commit:true}")
+    private boolean flushOnCommit;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Collection<ParticipationRequest> requests) {
+        bulkRepository.insertOutboxEvents(requests, LocalDateTime.now());
+
+        if (flushOnCommit) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    outboxRelay.requestRelay();
+                }
+            });
+        }
+    }
+}
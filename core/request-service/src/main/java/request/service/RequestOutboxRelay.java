@@ -0,0 +1,110 @@
+package request.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import request.dal.entity.RequestOutboxEvent;
+import request.dal.repository.RequestOutboxRepository;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Пачками доставляет записи outbox подписчикам и удаляет доставленные.
+ * Доставка идёт в одном потоке, а между экземплярами сервиса сериализуется advisory-блокировкой:
+ * подписчики отправляют абсолютные значения, прочитанные в момент доставки, и параллельные доставки
+ * могли бы прийти в event-service в обратном порядке, перезаписав новое значение старым.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RequestOutboxRelay {
+    static final long RELAY_LOCK_KEY = 0x7265715f6f7574L;
+
+    private final RequestOutboxRepository outboxRepository;
+    private final List<RequestChangeSubscriber> subscribers;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${request.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${request.outbox.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    private final AtomicBoolean relayRequested = new AtomicBoolean();
+
+    private TransactionTemplate transactionTemplate;
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void start() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "request-outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::relay, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdown();
+    }
+
+    /**
+     * Ставит внеочередную доставку в поток relay. Запросы, пришедшие до её начала, объединяются в одну.
+     */
+    public void requestRelay() {
+        if (relayRequested.compareAndSet(false, true)) {
+            try {
+                scheduler.execute(() -> {
+                    relayRequested.set(false);
+                    relay();
+                });
+            } catch (RejectedExecutionException e) {
+                relayRequested.set(false);
+            }
+        }
+    }
+
+    void relay() {
+        try {
+            int delivered;
+            do {
+                delivered = transactionTemplate.execute(status -> deliverBatch());
+            } while (delivered == batchSize);
+        } catch (Exception e) {
+            log.warn("Не удалось доставить изменения заявок из outbox: {}", e.getMessage());
+        }
+    }
+
+    private int deliverBatch() {
+        // Доставкой занят другой экземпляр: записи заберёт он или следующий опрос
+        if (!outboxRepository.tryLockRelay(RELAY_LOCK_KEY)) {
+            return 0;
+        }
+
+        List<RequestOutboxEvent> batch = outboxRepository.lockNextBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        subscribers.forEach(subscriber -> subscriber.onRequestChanges(batch));
+        outboxRepository.deleteAllInBatch(batch);
+        log.debug("Доставлено изменений заявок из outbox: {}", batch.size());
+        return batch.size();
+    }
+}
@@ -0,0 +1,11 @@
+-- Схема, которую создавал hibernate ddl-auto: update до перехода на миграции.
+-- На существующих базах эта миграция пропускается (spring.flyway.baseline-version = 1).
+
+CREATE TABLE IF NOT EXISTS participation_requests (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created      TIMESTAMP(6),
+    event        BIGINT,
+    requester_id BIGINT NOT NULL,
+    status       VARCHAR(255)
+        CHECK (status IN ('PENDING', 'CONFIRMED', 'CANCELED', 'REJECTED'))
+);
@@ -0,0 +1,13 @@
+-- @JoinColumn на Long-поле не задаёт имя колонки, поэтому ddl-auto создавал колонку event;
+-- сущность и нативные запросы работают с event_id
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema()
+                 AND table_name = 'participation_requests'
+                 AND column_name = 'event') THEN
+        ALTER TABLE participation_requests RENAME COLUMN event TO event_id;
+    END IF;
+END $$;
+
+ALTER TABLE participation_requests ALTER COLUMN event_id SET NOT NULL;
@@ -0,0 +1,15 @@
+-- Учёт занятых мест по событиям (EventCapacityLedger)
+CREATE TABLE IF NOT EXISTS event_capacity (
+    event_id          BIGINT  NOT NULL PRIMARY KEY,
+    participant_limit INTEGER NOT NULL,
+    confirmed         BIGINT  NOT NULL
+);
+
+-- Изменения заявок для отправки в event-service (RequestOutbox)
+CREATE TABLE IF NOT EXISTS request_outbox (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    request_id BIGINT       NOT NULL,
+    event_id   BIGINT       NOT NULL,
+    status     VARCHAR(20)  NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL
+);
@@ -0,0 +1,8 @@
+-- Заявки события и подсчёт подтверждённых заявок (findConfirmedRequestsCountByEventIds,
+-- EventCapacityRepository.insertIfAbsent): поиск по event_id со статусом без обращения к таблице
+CREATE INDEX IF NOT EXISTS idx_participation_requests_event_status
+    ON participation_requests (event_id, status);
+
+-- Заявки пользователя и проверка повторной заявки (existsByEventAndRequester)
+CREATE INDEX IF NOT EXISTS idx_participation_requests_requester_event
+    ON participation_requests (requester_id, event_id);
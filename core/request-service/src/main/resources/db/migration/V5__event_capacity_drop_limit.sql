@@ -0,0 +1,3 @@
+-- Лимит участников передаётся в резервирование из метаданных события; хранимая копия
+-- переписывалась экземплярами с разными по свежести кэшами
+ALTER TABLE event_capacity DROP COLUMN IF EXISTS participant_limit;
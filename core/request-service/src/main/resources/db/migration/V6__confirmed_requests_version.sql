@@ -0,0 +1,2 @@
+-- Версии значений числа подтверждённых заявок, передаваемых в event-service
+CREATE SEQUENCE IF NOT EXISTS confirmed_requests_version_seq;
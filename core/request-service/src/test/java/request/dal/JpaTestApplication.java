@@ -0,0 +1,10 @@
+package request.dal;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Конфигурация для срезов @DataJpaTest: RequestServiceApp включает Feign-клиенты, которые срезу не нужны.
+ */
+@SpringBootApplication
+public class JpaTestApplication {
+}
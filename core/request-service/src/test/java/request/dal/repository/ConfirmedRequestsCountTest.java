@@ -0,0 +1,47 @@
+package request.dal.repository;
+
+import dto.request.EventConfirmedRequestsDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import util.test.PostgresIntegrationTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ConfirmedRequestsCountTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private ParticipationRequestRepository requestRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void versionedCountsIncludeEventsWithoutConfirmedRequests() {
+        jdbcTemplate.update("INSERT INTO participation_requests (created, event_id, requester_id, status) " +
+                "VALUES (LOCALTIMESTAMP, 1, 1, 'CONFIRMED'), (LOCALTIMESTAMP, 1, 2, 'CONFIRMED'), " +
+                "(LOCALTIMESTAMP, 2, 1, 'PENDING')");
+
+        List<EventConfirmedRequestsDto> counts = requestRepository.findVersionedConfirmedRequests(List.of(1L, 2L));
+
+        assertThat(counts)
+                .extracting(EventConfirmedRequestsDto::getEventId, EventConfirmedRequestsDto::getConfirmedCount)
+                .containsExactly(tuple(1L, 2L), tuple(2L, 0L));
+        assertThat(counts).extracting(EventConfirmedRequestsDto::getVersion).containsOnly(counts.get(0).getVersion());
+    }
+
+    @Test
+    void everyReadGetsNewerVersion() {
+        long first = requestRepository.findVersionedConfirmedRequests(List.of(1L)).get(0).getVersion();
+        long second = requestRepository.findVersionedConfirmedRequests(List.of(1L)).get(0).getVersion();
+
+        assertThat(second).isGreaterThan(first);
+    }
+}
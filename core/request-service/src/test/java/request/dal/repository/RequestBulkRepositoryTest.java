@@ -0,0 +1,97 @@
+package request.dal.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import request.dal.entity.ParticipationRequest;
+import request.dal.entity.RequestStatus;
+import util.test.PostgresIntegrationTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(RequestBulkRepository.class)
+class RequestBulkRepositoryTest extends PostgresIntegrationTest {
+    private static final long EVENT_ID = 1L;
+    private static final long OTHER_EVENT_ID = 2L;
+
+    @Autowired
+    private RequestBulkRepository bulkRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long requesterId;
+
+    @Test
+    void summarizeCountsFoundPendingAndOwnRequests() {
+        long pending = insert(EVENT_ID, RequestStatus.PENDING);
+        long confirmed = insert(EVENT_ID, RequestStatus.CONFIRMED);
+        long otherEvent = insert(OTHER_EVENT_ID, RequestStatus.PENDING);
+
+        RequestBatchSummary summary = bulkRepository.summarize(EVENT_ID,
+                List.of(pending, confirmed, otherEvent, Long.MAX_VALUE));
+
+        assertThat(summary).isEqualTo(new RequestBatchSummary(3, 2, 2));
+    }
+
+    @Test
+    void updatePendingStatusChangesOnlyPendingRequestsOfEvent() {
+        long first = insert(EVENT_ID, RequestStatus.PENDING);
+        long second = insert(EVENT_ID, RequestStatus.PENDING);
+        long confirmed = insert(EVENT_ID, RequestStatus.CONFIRMED);
+        long otherEvent = insert(OTHER_EVENT_ID, RequestStatus.PENDING);
+
+        List<ParticipationRequest> updated = bulkRepository.updatePendingStatus(EVENT_ID,
+                List.of(second, first, confirmed, otherEvent), RequestStatus.REJECTED);
+
+        assertThat(updated).extracting(ParticipationRequest::getId).containsExactly(first, second);
+        assertThat(updated).allSatisfy(request -> {
+            assertThat(request.getEvent()).isEqualTo(EVENT_ID);
+            assertThat(request.getStatus()).isEqualTo(RequestStatus.REJECTED);
+            assertThat(request.getCreated()).isNotNull();
+        });
+        assertThat(status(confirmed)).isEqualTo("CONFIRMED");
+        assertThat(status(otherEvent)).isEqualTo("PENDING");
+    }
+
+    @Test
+    void outboxEventsAreInsertedForEveryRequest() {
+        List<ParticipationRequest> requests = List.of(
+                request(insert(EVENT_ID, RequestStatus.CONFIRMED), RequestStatus.CONFIRMED),
+                request(insert(EVENT_ID, RequestStatus.CANCELED), RequestStatus.CANCELED));
+
+        bulkRepository.insertOutboxEvents(requests, LocalDateTime.now());
+
+        assertThat(jdbcTemplate.queryForList("SELECT status FROM request_outbox WHERE event_id = ? ORDER BY id",
+                String.class, EVENT_ID))
+                .containsExactly("CONFIRMED", "CANCELED");
+    }
+
+    private long insert(long eventId, RequestStatus status) {
+        return jdbcTemplate.queryForObject("INSERT INTO participation_requests " +
+                "(created, event_id, requester_id, status) VALUES (LOCALTIMESTAMP, ?, ?, ?) RETURNING id",
+                Long.class, eventId, ++requesterId, status.name());
+    }
+
+    private String status(long requestId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM participation_requests WHERE id = ?",
+                String.class, requestId);
+    }
+
+    private static ParticipationRequest request(long id, RequestStatus status) {
+        return ParticipationRequest.builder()
+                .id(id)
+                .event(EVENT_ID)
+                .requester(id)
+                .status(status)
+                .build();
+    }
+}
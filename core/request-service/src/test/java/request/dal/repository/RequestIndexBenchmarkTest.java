@@ -0,0 +1,72 @@
+package request.dal.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import util.test.IndexBenchmark;
+import util.test.PostgresIntegrationTest;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Задержка запросов заявок по событию на 500 000 заявок с индексом idx_participation_requests_event_status
+ * и без него. Запуск: mvn test -Pbenchmark -pl core/request-service
+ */
+@Tag("benchmark")
+@Slf4j
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class RequestIndexBenchmarkTest extends PostgresIntegrationTest {
+    private static final int REQUESTS = 500_000;
+    private static final int EVENTS = 5_000;
+    private static final int RUNS = 30;
+    private static final String INDEX = "idx_participation_requests_event_status";
+
+    @Autowired
+    private ParticipationRequestRepository requestRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("INSERT INTO participation_requests (created, event_id, requester_id, status) " +
+                "SELECT LOCALTIMESTAMP, i % ?, i, " +
+                "(ARRAY['PENDING', 'CONFIRMED', 'CANCELED', 'REJECTED'])[1 + i / ? % 4] " +
+                "FROM generate_series(1, ?) i", EVENTS, EVENTS, REQUESTS);
+        jdbcTemplate.execute("ANALYZE participation_requests");
+    }
+
+    @Test
+    void confirmedCountsOfEventPageUseIndex() {
+        List<Long> eventIds = LongStream.rangeClosed(1, 20).boxed().toList();
+
+        IndexBenchmark.Result result = IndexBenchmark.measure(transactionManager, jdbcTemplate, INDEX, RUNS,
+                () -> assertThat(requestRepository.findConfirmedRequestsCountByEventIds(eventIds)).hasSize(20));
+
+        log.info("Подтверждённые заявки 20 событий: {}", result);
+        assertThat(result.withIndexNanos()).isLessThan(result.withoutIndexNanos());
+    }
+
+    @Test
+    void requestsOfEventUseIndex() {
+        IndexBenchmark.Result result = IndexBenchmark.measure(transactionManager, jdbcTemplate, INDEX, RUNS,
+                () -> assertThat(requestRepository.findAllByEventIdWithEventAndRequester(42L))
+                        .hasSize(REQUESTS / EVENTS));
+
+        log.info("Заявки события: {}", result);
+        assertThat(result.withIndexNanos()).isLessThan(result.withoutIndexNanos());
+    }
+}
@@ -0,0 +1,108 @@
+package request.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import request.dal.JpaTestApplication;
+import util.test.PostgresIntegrationTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntUnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = JpaTestApplication.class)
+@Import(EventCapacityLedger.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EventCapacityLedgerTest extends PostgresIntegrationTest {
+    private static final long EVENT_ID = 1L;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private EventCapacityLedger ledger;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM event_capacity");
+        jdbcTemplate.update("DELETE FROM participation_requests");
+    }
+
+    @Test
+    void parallelReservationsNeverExceedLimit() throws Exception {
+        assertThat(reserveInParallel(1, i -> 5)).isEqualTo(5);
+        assertThat(ledger.getConfirmed(EVENT_ID)).isEqualTo(5L);
+    }
+
+    @Test
+    void staleLimitsOfDifferentInstancesDoNotRaiseEachOther() throws Exception {
+        // Половина экземпляров ещё видит старый лимит 3, половина уже новый лимит 4
+        assertThat(reserveInParallel(1, i -> i % 2 == 0 ? 3 : 4)).isEqualTo(4);
+        assertThat(ledger.getConfirmed(EVENT_ID)).isEqualTo(4L);
+    }
+
+    @Test
+    void batchReservationsNeverExceedLimit() throws Exception {
+        assertThat(reserveInParallel(3, i -> 10)).isEqualTo(3);
+        assertThat(ledger.getConfirmed(EVENT_ID)).isEqualTo(9L);
+    }
+
+    @Test
+    void trackingStartsFromAlreadyConfirmedRequests() throws Exception {
+        jdbcTemplate.update("INSERT INTO participation_requests (created, event_id, requester_id, status) " +
+                "SELECT LOCALTIMESTAMP, ?, i, 'CONFIRMED' FROM generate_series(1, 2) i", EVENT_ID);
+
+        assertThat(reserveInParallel(1, i -> 5)).isEqualTo(3);
+        assertThat(ledger.getConfirmed(EVENT_ID)).isEqualTo(5L);
+    }
+
+    private int reserveInParallel(long count, IntUnaryOperator limitByThread) throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int i = 0; i < THREADS; i++) {
+                int limit = limitByThread.applyAsInt(i);
+                Callable<Boolean> reserve = () -> {
+                    start.await();
+                    return transaction.execute(status -> {
+                        ledger.track(EVENT_ID);
+                        return ledger.tryReserve(EVENT_ID, count, limit);
+                    });
+                };
+                results.add(executor.submit(reserve));
+            }
+            start.countDown();
+
+            int reserved = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get()) {
+                    reserved++;
+                }
+            }
+            return reserved;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package request.service;
+
+import dto.event.EventMetadataDto;
+import dto.request.EventRequestStatusUpdateRequest;
+import dto.request.EventRequestStatusUpdateResult;
+import feign.event.EventMetadataCache;
+import feign.user.UserCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import request.dal.JpaTestApplication;
+import request.dal.mapper.ParticipationRequestMapperImpl;
+import request.dal.repository.RequestBulkRepository;
+import util.exception.ConflictException;
+import util.test.PostgresIntegrationTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+/**
+ * Подтверждение 10 000 заявок одним вызовом changeRequestStatus: одна агрегирующая проверка,
+ * один UPDATE с учётом оставшейся ёмкости и outbox без повторного чтения заявок.
+ */
+@DataJpaTest(properties = {
+        "request.outbox.poll-interval-ms=3600000",
+        "request.outbox.flush-on-commit=false"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = JpaTestApplication.class)
+@Import({ParticipationRequestServiceImpl.class, RequestBulkRepository.class, EventCapacityLedger.class,
+        RequestOutbox.class, ParticipationRequestMapperImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ParticipationRequestBulkStatusTest extends PostgresIntegrationTest {
+    static final long EVENT_ID = 1L;
+    static final long INITIATOR_ID = 1L;
+    static final int REQUESTS = 10_000;
+
+    @MockBean
+    private UserCache userCache;
+
+    @MockBean
+    private EventMetadataCache eventMetadataCache;
+
+    @MockBean
+    private RequestOutboxRelay outboxRelay;
+
+    @Autowired
+    private ParticipationRequestService requestService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM request_outbox");
+        jdbcTemplate.update("DELETE FROM event_capacity");
+        jdbcTemplate.update("DELETE FROM participation_requests");
+    }
+
+    @Test
+    void tenThousandRequestsAreConfirmedInOneCall() {
+        when(eventMetadataCache.get(EVENT_ID)).thenReturn(event(REQUESTS));
+        List<Long> requestIds = insertPendingRequests(jdbcTemplate, REQUESTS);
+
+        EventRequestStatusUpdateResult result = requestService.changeRequestStatus(INITIATOR_ID, EVENT_ID,
+                new EventRequestStatusUpdateRequest(requestIds, "CONFIRMED"));
+
+        assertThat(result.getConfirmedRequests()).hasSize(REQUESTS);
+        assertThat(result.getRejectedRequests()).isEmpty();
+        assertThat(countByStatus("CONFIRMED")).isEqualTo(REQUESTS);
+        assertThat(jdbcTemplate.queryForObject("SELECT confirmed FROM event_capacity WHERE event_id = ?",
+                Long.class, EVENT_ID))
+                .isEqualTo(REQUESTS);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM request_outbox", Long.class))
+                .isEqualTo(REQUESTS);
+    }
+
+    @Test
+    void batchOverRemainingCapacityChangesNothing() {
+        when(eventMetadataCache.get(EVENT_ID)).thenReturn(event(REQUESTS - 1));
+        List<Long> requestIds = insertPendingRequests(jdbcTemplate, REQUESTS);
+
+        assertThatThrownBy(() -> requestService.changeRequestStatus(INITIATOR_ID, EVENT_ID,
+                new EventRequestStatusUpdateRequest(requestIds, "CONFIRMED")))
+                .isInstanceOf(ConflictException.class);
+
+        assertThat(countByStatus("PENDING")).isEqualTo(REQUESTS);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM request_outbox", Long.class)).isZero();
+    }
+
+    static EventMetadataDto event(int participantLimit) {
+        return EventMetadataDto.builder()
+                .id(EVENT_ID)
+                .state("PUBLISHED")
+                .initiator(INITIATOR_ID)
+                .participantLimit(participantLimit)
+                .requestModeration(true)
+                .build();
+    }
+
+    static List<Long> insertPendingRequests(JdbcTemplate jdbcTemplate, int count) {
+        return jdbcTemplate.queryForList("INSERT INTO participation_requests " +
+                "(created, event_id, requester_id, status) " +
+                "SELECT LOCALTIMESTAMP, ?, i + 1000, 'PENDING' FROM generate_series(1, ?) i RETURNING id",
+                Long.class, EVENT_ID, count);
+    }
+
+    private long countByStatus(String status) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM participation_requests " +
+                "WHERE event_id = ? AND status = ?", Long.class, EVENT_ID, status);
+    }
+}
@@ -0,0 +1,126 @@
+package request.service;
+
+import dto.event.EventMetadataDto;
+import feign.event.EventMetadataCache;
+import feign.user.UserCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import request.dal.JpaTestApplication;
+import request.dal.mapper.ParticipationRequestMapperImpl;
+import request.dal.repository.RequestBulkRepository;
+import util.exception.ConflictException;
+import util.test.PostgresIntegrationTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Сквозная проверка лимита участников под нагрузкой: сотни одновременных заявок на одно событие
+ * проходят через сервис целиком — проверки, резерв в журнале ёмкости, сохранение заявки и outbox.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=40",
+        "request.outbox.poll-interval-ms=3600000",
+        "request.outbox.flush-on-commit=false"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = JpaTestApplication.class)
+@Import({ParticipationRequestServiceImpl.class, RequestBulkRepository.class, EventCapacityLedger.class,
+        RequestOutbox.class, ParticipationRequestMapperImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ParticipationRequestContentionTest extends PostgresIntegrationTest {
+    private static final long EVENT_ID = 1L;
+    private static final int PARTICIPANT_LIMIT = 100;
+    private static final int REQUESTS = 1_000;
+    private static final int THREADS = 200;
+
+    @MockBean
+    private UserCache userCache;
+
+    @MockBean
+    private EventMetadataCache eventMetadataCache;
+
+    @MockBean
+    private RequestOutboxRelay outboxRelay;
+
+    @Autowired
+    private ParticipationRequestService requestService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        when(eventMetadataCache.get(EVENT_ID)).thenReturn(EventMetadataDto.builder()
+                .id(EVENT_ID)
+                .state("PUBLISHED")
+                .initiator(0L)
+                .participantLimit(PARTICIPANT_LIMIT)
+                .requestModeration(false)
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM request_outbox");
+        jdbcTemplate.update("DELETE FROM event_capacity");
+        jdbcTemplate.update("DELETE FROM participation_requests");
+    }
+
+    @Test
+    void concurrentRequestsConfirmExactlyParticipantLimit() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        int confirmed = 0;
+        int rejected = 0;
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (long userId = 1; userId <= REQUESTS; userId++) {
+                long requester = userId;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return requestService.createRequest(requester, EVENT_ID);
+                }));
+            }
+            start.countDown();
+
+            for (Future<?> result : results) {
+                try {
+                    result.get();
+                    confirmed++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(ConflictException.class);
+                    rejected++;
+                }
+            }
+        }
+
+        assertThat(confirmed).isEqualTo(PARTICIPANT_LIMIT);
+        assertThat(rejected).isEqualTo(REQUESTS - PARTICIPANT_LIMIT);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM participation_requests " +
+                "WHERE event_id = ? AND status = 'CONFIRMED'", Long.class, EVENT_ID))
+                .isEqualTo(PARTICIPANT_LIMIT);
+        assertThat(jdbcTemplate.queryForObject("SELECT confirmed FROM event_capacity WHERE event_id = ?",
+                Long.class, EVENT_ID))
+                .isEqualTo(PARTICIPANT_LIMIT);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM request_outbox WHERE event_id = ?",
+                Long.class, EVENT_ID))
+                .isEqualTo(PARTICIPANT_LIMIT);
+    }
+}
@@ -0,0 +1,97 @@
+package request.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import request.dal.JpaTestApplication;
+import request.dal.entity.RequestOutboxEvent;
+import util.test.PostgresIntegrationTest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "request.outbox.poll-interval-ms=3600000")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = JpaTestApplication.class)
+@Import({RequestOutboxRelay.class, RequestOutboxRelayTest.RecordingSubscriber.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RequestOutboxRelayTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private RequestOutboxRelay relay;
+
+    @Autowired
+    private RecordingSubscriber subscriber;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM request_outbox");
+        subscriber.delivered.clear();
+    }
+
+    @Test
+    void relayWaitsWhileAnotherInstanceHoldsRelayLock() throws Exception {
+        insertOutboxEvents(3);
+
+        try (Connection otherInstance = dataSource.getConnection()) {
+            otherInstance.setAutoCommit(false);
+            try (Statement statement = otherInstance.createStatement()) {
+                statement.execute("SELECT pg_advisory_xact_lock(" + RequestOutboxRelay.RELAY_LOCK_KEY + ")");
+            }
+
+            relay.relay();
+            assertThat(subscriber.delivered).isEmpty();
+
+            otherInstance.rollback();
+        }
+
+        relay.relay();
+        assertThat(subscriber.delivered).extracting(RequestOutboxEvent::getRequestId).containsExactly(1L, 2L, 3L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM request_outbox", Long.class)).isZero();
+    }
+
+    @Test
+    void requestedRelaysRunOffCallerThread() throws Exception {
+        insertOutboxEvents(2);
+
+        relay.requestRelay();
+        relay.requestRelay();
+
+        for (int i = 0; i < 100 && subscriber.delivered.size() < 2; i++) {
+            Thread.sleep(50);
+        }
+        assertThat(subscriber.delivered).hasSize(2);
+    }
+
+    private void insertOutboxEvents(int count) {
+        jdbcTemplate.update("INSERT INTO request_outbox (request_id, event_id, status, created_at) " +
+                "SELECT i, 1, 'CONFIRMED', LOCALTIMESTAMP FROM generate_series(1, ?) i", count);
+    }
+
+    static class RecordingSubscriber implements RequestChangeSubscriber {
+        private final List<RequestOutboxEvent> delivered = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onRequestChanges(List<RequestOutboxEvent> changes) {
+            delivered.addAll(changes);
+        }
+    }
+}
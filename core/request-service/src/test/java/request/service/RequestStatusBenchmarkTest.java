@@ -0,0 +1,121 @@
+package request.service;
+
+import dto.request.EventRequestStatusUpdateRequest;
+import feign.event.EventMetadataCache;
+import feign.user.UserCache;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import request.dal.JpaTestApplication;
+import request.dal.entity.ParticipationRequest;
+import request.dal.entity.RequestStatus;
+import request.dal.mapper.ParticipationRequestMapper;
+import request.dal.mapper.ParticipationRequestMapperImpl;
+import request.dal.repository.ParticipationRequestRepository;
+import request.dal.repository.RequestBulkRepository;
+import util.test.PostgresIntegrationTest;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static request.service.ParticipationRequestBulkStatusTest.EVENT_ID;
+import static request.service.ParticipationRequestBulkStatusTest.INITIATOR_ID;
+import static request.service.ParticipationRequestBulkStatusTest.REQUESTS;
+import static request.service.ParticipationRequestBulkStatusTest.event;
+import static request.service.ParticipationRequestBulkStatusTest.insertPendingRequests;
+
+/**
+ * Подтверждение 10 000 заявок: прежний путь (загрузка сущностей, saveAll с UPDATE на каждую строку
+ * и маппинг) против пакетного changeRequestStatus. Запуск: mvn test -Pbenchmark -pl core/request-service
+ */
+@Tag("benchmark")
+@Slf4j
+@DataJpaTest(properties = {
+        "request.outbox.poll-interval-ms=3600000",
+        "request.outbox.flush-on-commit=false"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = JpaTestApplication.class)
+@Import({ParticipationRequestServiceImpl.class, RequestBulkRepository.class, EventCapacityLedger.class,
+        RequestOutbox.class, ParticipationRequestMapperImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RequestStatusBenchmarkTest extends PostgresIntegrationTest {
+
+    @MockBean
+    private UserCache userCache;
+
+    @MockBean
+    private EventMetadataCache eventMetadataCache;
+
+    @MockBean
+    private RequestOutboxRelay outboxRelay;
+
+    @Autowired
+    private ParticipationRequestService requestService;
+
+    @Autowired
+    private ParticipationRequestRepository requestRepository;
+
+    @Autowired
+    private ParticipationRequestMapper requestMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM request_outbox");
+        jdbcTemplate.update("DELETE FROM event_capacity");
+        jdbcTemplate.update("DELETE FROM participation_requests");
+    }
+
+    @Test
+    void bulkConfirmationOutperformsPerRowUpdates() {
+        when(eventMetadataCache.get(EVENT_ID)).thenReturn(event(REQUESTS));
+
+        long perRowNanos = measure(this::confirmPerRow);
+        long bulkNanos = measure(requestIds -> requestService.changeRequestStatus(INITIATOR_ID, EVENT_ID,
+                new EventRequestStatusUpdateRequest(requestIds, "CONFIRMED")));
+
+        log.info("Подтверждение {} заявок: по строкам {} мс, пакетно {} мс, ускорение x{}",
+                REQUESTS, perRowNanos / 1_000_000, bulkNanos / 1_000_000,
+                String.format("%.1f", (double) perRowNanos / bulkNanos));
+        assertThat(bulkNanos).isLessThan(perRowNanos);
+    }
+
+    // Прежняя реализация changeRequestStatus без проверок лимита
+    private void confirmPerRow(List<Long> requestIds) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            List<ParticipationRequest> requests = requestRepository.findAllByIdWithEventAndRequester(requestIds);
+            requests.forEach(request -> request.setStatus(RequestStatus.CONFIRMED));
+            requestRepository.saveAll(requests).forEach(requestMapper::toDto);
+        });
+    }
+
+    private long measure(Consumer<List<Long>> confirm) {
+        cleanUp();
+        List<Long> requestIds = insertPendingRequests(jdbcTemplate, REQUESTS);
+        long started = System.nanoTime();
+        confirm.accept(requestIds);
+        long elapsed = System.nanoTime() - started;
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM participation_requests " +
+                "WHERE status = 'CONFIRMED'", Long.class)).isEqualTo(REQUESTS);
+        return elapsed;
+    }
+}
@@ -0,0 +1,32 @@
+package user.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import util.cache.PeerCacheInvalidator;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * После удаления пользователя сбрасывает его запись в кэшах пользователей всех экземпляров сервисов-потребителей.
+ * Рассылка асинхронная и с таймаутами, поэтому недоступный экземпляр не задерживает ответ на удаление.
+ */
+@Component
+public class UserCacheInvalidator {
+    private final PeerCacheInvalidator invalidator;
+
+    public UserCacheInvalidator(DiscoveryClient discoveryClient,
+                                RestClient.Builder restClientBuilder,
+                                @Value("${users.cache.subscribers:event-service,request-service,comment-service}")
+                                List<String> subscribers,
+                                @Value("${users.cache.invalidation-timeout-ms:1000}") long timeoutMs) {
+        this.invalidator = new PeerCacheInvalidator(discoveryClient, restClientBuilder, subscribers,
+                "/api/cache/users", Duration.ofMillis(timeoutMs));
+    }
+
+    public void invalidateAfterCommit(Long userId) {
+        invalidator.invalidateAfterCommit(userId);
+    }
+}
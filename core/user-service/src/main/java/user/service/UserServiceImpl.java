@@ -26,6 +26,7 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final UserCacheInvalidator userCacheInvalidator;
 
     @Override
     public UserResponse createUser(NewUserRequest userRequest) {
@@ -97,6 +98,7 @@ public class UserServiceImpl implements UserService {
         log.info("Удаление пользователя с ID: {}", userId);
         checkUserExists(userId);
         userRepository.deleteById(userId);
+        userCacheInvalidator.invalidateAfterCommit(userId);
         log.info("Пользователь с ID {} успешно удален", userId);
     }
 
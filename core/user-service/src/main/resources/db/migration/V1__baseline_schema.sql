@@ -0,0 +1,9 @@
+-- Схема, которую создавал hibernate ddl-auto: update до перехода на миграции.
+-- На существующих базах эта миграция пропускается (spring.flyway.baseline-version = 1).
+-- Поиск по email (existsByEmail) обслуживается индексом ограничения уникальности.
+
+CREATE TABLE IF NOT EXISTS users (
+    id    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name  VARCHAR(250) NOT NULL,
+    email VARCHAR(254) NOT NULL UNIQUE
+);
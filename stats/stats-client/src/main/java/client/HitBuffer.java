@@ -0,0 +1,127 @@
+package client;
+
+import model.EndpointHitDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ограниченная очередь хитов между потоками запросов и фоновой отправкой в сервис статистики.
+ * Пакет, который не удалось отправить, повторяется раньше новых хитов ограниченное число раз.
+ * Пакет на повтор и выборка из очереди защищены одной блокировкой: финальный сброс при остановке
+ * не должен потерять или отправить повторно пакет, который в этот момент обрабатывает поток отправки.
+ */
+public class HitBuffer {
+    private final BlockingQueue<EndpointHitDto> queue;
+    private final OverflowPolicy overflowPolicy;
+
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+
+    private final Object retryLock = new Object();
+    private List<EndpointHitDto> retryBatch = List.of();
+    private int retryAttempts;
+
+    public HitBuffer(int capacity, OverflowPolicy overflowPolicy) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public void add(EndpointHitDto hit) {
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            try {
+                queue.put(hit);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                dropped.incrementAndGet();
+                return;
+            }
+        } else {
+            while (!queue.offer(hit)) {
+                if (queue.poll() != null) {
+                    dropped.incrementAndGet();
+                }
+            }
+        }
+        queued.incrementAndGet();
+    }
+
+    public List<EndpointHitDto> drain(int maxElements) {
+        synchronized (retryLock) {
+            List<EndpointHitDto> batch = new ArrayList<>(Math.min(maxElements, queue.size()));
+            queue.drainTo(batch, maxElements);
+            return batch;
+        }
+    }
+
+    public List<EndpointHitDto> nextBatch(int maxElements) {
+        synchronized (retryLock) {
+            return retryBatch.isEmpty() ? drain(maxElements) : retryBatch;
+        }
+    }
+
+    public boolean isEmpty() {
+        synchronized (retryLock) {
+            return retryBatch.isEmpty() && queue.isEmpty();
+        }
+    }
+
+    public void markSent(int count) {
+        synchronized (retryLock) {
+            sent.addAndGet(count);
+            retryBatch = List.of();
+            retryAttempts = 0;
+        }
+    }
+
+    /**
+     * Откладывает неотправленный пакет для повтора.
+     *
+     * @return false, если попытки исчерпаны и пакет отброшен
+     */
+    public boolean retryLater(List<EndpointHitDto> batch, int maxRetries) {
+        synchronized (retryLock) {
+            if (retryAttempts >= maxRetries) {
+                markDropped(batch.size());
+                retryBatch = List.of();
+                retryAttempts = 0;
+                return false;
+            }
+            retryBatch = batch;
+            retryAttempts++;
+            retried.addAndGet(batch.size());
+            return true;
+        }
+    }
+
+    public void markDropped(int count) {
+        dropped.addAndGet(count);
+    }
+
+    public int size() {
+        synchronized (retryLock) {
+            return retryBatch.size() + queue.size();
+        }
+    }
+
+    public long getQueuedCount() {
+        return queued.get();
+    }
+
+    public long getSentCount() {
+        return sent.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public long getRetriedCount() {
+        return retried.get();
+    }
+}
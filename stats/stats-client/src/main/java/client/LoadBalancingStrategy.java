@@ -0,0 +1,5 @@
+package client;
+
+public enum LoadBalancingStrategy {
+    ROUND_ROBIN, LEAST_OUTSTANDING
+}
@@ -0,0 +1,5 @@
+package client;
+
+public enum OverflowPolicy {
+    DROP_OLDEST, BLOCK
+}
@@ -1,11 +1,12 @@
 package client;
 
 import exception.StatsServerUnavailable;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import model.EndpointHitDto;
 import model.ViewStatsDto;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.MediaType;
@@ -16,6 +17,9 @@ import org.springframework.web.util.UriComponentsBuilder;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @RequiredArgsConstructor
@@ -29,33 +33,96 @@ public class StatsClient {
     @Value("${apps:ewm-main}")
     private String appName;
 
-    private String getStatsServiceUrl() {
-        ServiceInstance serviceInstance = discoveryClient.getInstances(statsServiceId).stream()
-                .findFirst()
-                .orElseThrow(() -> new StatsServerUnavailable("Сервис статистики с id: " + statsServiceId
-                        + " не найден в реестре"));
+    @Value("${stats-client.instances.refresh-interval-ms:30000}")
+    private long instancesRefreshIntervalMs;
 
-        return String.format("http://%s:%d", serviceInstance.getHost(), serviceInstance.getPort());
+    @Value("${stats-client.instances.load-balancing:ROUND_ROBIN}")
+    private LoadBalancingStrategy loadBalancingStrategy;
+
+    @Value("${stats-client.hits.async:false}")
+    private boolean asyncHits;
+
+    @Value("${stats-client.hits.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${stats-client.hits.batch-size:100}")
+    private int batchSize;
+
+    @Value("${stats-client.hits.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    @Value("${stats-client.hits.overflow-policy:DROP_OLDEST}")
+    private OverflowPolicy overflowPolicy;
+
+    @Value("${stats-client.hits.max-retries:3}")
+    private int maxRetries;
+
+    private StatsServerBalancer balancer;
+    private HitBuffer hitBuffer;
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    void start() {
+        balancer = new StatsServerBalancer(discoveryClient, restClientBuilder, statsServiceId,
+                loadBalancingStrategy);
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stats-client-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refreshInstances, 0, instancesRefreshIntervalMs,
+                TimeUnit.MILLISECONDS);
+
+        if (asyncHits) {
+            hitBuffer = new HitBuffer(queueCapacity, overflowPolicy);
+            scheduler.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Финальный сброс выполняется только после остановки планировщика, чтобы не пересечься с фоновым сбросом
+    @PreDestroy
+    void stop() {
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(flushIntervalMs, TimeUnit.MILLISECONDS)) {
+                scheduler.shutdownNow();
+                if (!scheduler.awaitTermination(flushIntervalMs, TimeUnit.MILLISECONDS)) {
+                    System.err.println("Планировщик клиента статистики не остановился, финальный сброс пропущен");
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (hitBuffer != null) {
+            flush();
+        }
     }
 
-    private RestClient getRestClient() {
-        return restClientBuilder
-                .baseUrl(getStatsServiceUrl())
-                .build();
+    private void refreshInstances() {
+        try {
+            balancer.refresh();
+        } catch (Exception e) {
+            System.err.println("Ошибка при обновлении списка экземпляров статистики: " + e.getMessage());
+        }
     }
 
     public void hit(EndpointHitDto endpointHitDto) {
-        try {
-            endpointHitDto.setApp(appName);
+        endpointHitDto.setApp(appName);
 
-            RestClient restClient = getRestClient();
+        if (hitBuffer != null) {
+            hitBuffer.add(endpointHitDto);
+            return;
+        }
 
-            restClient.post()
+        try {
+            balancer.execute(restClient -> restClient.post()
                     .uri("/hit")
                     .contentType(MediaType.APPLICATION_JSON)
                     .body(endpointHitDto)
                     .retrieve()
-                    .toBodilessEntity();
+                    .toBodilessEntity());
         } catch (StatsServerUnavailable e) {
             throw e;
         } catch (Exception e) {
@@ -63,26 +130,81 @@ public class StatsClient {
         }
     }
 
+    public void hitBatch(List<EndpointHitDto> hits) {
+        if (hits.isEmpty()) {
+            return;
+        }
+
+        hits.forEach(hit -> hit.setApp(appName));
+
+        balancer.execute(restClient -> restClient.post()
+                .uri("/hit/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(hits)
+                .retrieve()
+                .toBodilessEntity());
+    }
+
+    public long getQueuedHitsCount() {
+        return hitBuffer != null ? hitBuffer.getQueuedCount() : 0L;
+    }
+
+    public long getSentHitsCount() {
+        return hitBuffer != null ? hitBuffer.getSentCount() : 0L;
+    }
+
+    public long getDroppedHitsCount() {
+        return hitBuffer != null ? hitBuffer.getDroppedCount() : 0L;
+    }
+
+    public long getRetriedHitsCount() {
+        return hitBuffer != null ? hitBuffer.getRetriedCount() : 0L;
+    }
+
+    // Неотправленный пакет повторяется на следующих сбросах, пока не исчерпаны попытки
+    private void flush() {
+        while (!hitBuffer.isEmpty()) {
+            List<EndpointHitDto> batch = hitBuffer.nextBatch(batchSize);
+            try {
+                hitBatch(batch);
+                hitBuffer.markSent(batch.size());
+            } catch (Exception e) {
+                if (hitBuffer.retryLater(batch, maxRetries)) {
+                    System.err.println("Ошибка при отправке пакета статистики, пакет будет повторён: "
+                            + e.getMessage());
+                } else {
+                    System.err.println("Ошибка при отправке пакета статистики, попытки исчерпаны, отброшено хитов: "
+                            + batch.size() + ": " + e.getMessage());
+                }
+                return;
+            }
+        }
+    }
+
     public List<ViewStatsDto> getStats(LocalDateTime start, LocalDateTime end,
                                        List<String> uris, Boolean unique) {
+        return getStats(start, end, uris, unique, false);
+    }
+
+    public List<ViewStatsDto> getStats(LocalDateTime start, LocalDateTime end,
+                                       List<String> uris, Boolean unique, Boolean approximate) {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
         try {
             UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromPath("/stats")
                     .queryParam("start", start.format(formatter))
                     .queryParam("end", end.format(formatter))
-                    .queryParam("unique", unique);
+                    .queryParam("unique", unique)
+                    .queryParam("approximate", approximate);
 
             if (uris != null && !uris.isEmpty()) {
                 uris.forEach(uri -> uriBuilder.queryParam("uris", uri));
             }
 
-            RestClient restClient = getRestClient();
-
-            return restClient.get()
+            return balancer.execute(restClient -> restClient.get()
                     .uri(uriBuilder.build().toUriString())
                     .retrieve()
-                    .body(new ParameterizedTypeReference<>() {});
+                    .body(new ParameterizedTypeReference<List<ViewStatsDto>>() {}));
         } catch (StatsServerUnavailable e) {
             throw e;
         } catch (Exception e) {
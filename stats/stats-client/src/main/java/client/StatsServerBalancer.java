@@ -0,0 +1,139 @@
+package client;
+
+import exception.StatsServerUnavailable;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.net.http.HttpConnectTimeoutException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Держит по одному RestClient на каждый экземпляр сервиса статистики и распределяет между ними запросы.
+ * Список экземпляров обновляется методом {@link #refresh()}, а не на каждом вызове.
+ * Экземпляр, к которому не удалось подключиться, исключается до следующего обновления,
+ * а запрос повторяется на следующем экземпляре.
+ */
+public class StatsServerBalancer {
+    private final DiscoveryClient discoveryClient;
+    private final RestClient.Builder restClientBuilder;
+    private final String serviceId;
+    private final LoadBalancingStrategy strategy;
+
+    private final Map<String, Endpoint> endpointsByUrl = new ConcurrentHashMap<>();
+    private final AtomicInteger nextIndex = new AtomicInteger();
+    private volatile List<Endpoint> endpoints = List.of();
+
+    public StatsServerBalancer(DiscoveryClient discoveryClient, RestClient.Builder restClientBuilder,
+                               String serviceId, LoadBalancingStrategy strategy) {
+        this.discoveryClient = discoveryClient;
+        this.restClientBuilder = restClientBuilder;
+        this.serviceId = serviceId;
+        this.strategy = strategy;
+    }
+
+    public synchronized void refresh() {
+        List<String> urls = discoveryClient.getInstances(serviceId).stream()
+                .map(StatsServerBalancer::toUrl)
+                .distinct()
+                .toList();
+
+        endpointsByUrl.keySet().retainAll(urls);
+        endpoints = urls.stream()
+                .map(url -> endpointsByUrl.computeIfAbsent(url, key ->
+                        new Endpoint(key, restClientBuilder.clone().baseUrl(key).build())))
+                .toList();
+    }
+
+    public <T> T execute(Function<RestClient, T> call) {
+        int attempts = Math.max(endpoints.size(), 1);
+        ResourceAccessException lastError = null;
+        for (int attempt = 0; attempt < attempts; attempt++) {
+            Endpoint endpoint;
+            try {
+                endpoint = choose();
+            } catch (StatsServerUnavailable e) {
+                if (lastError != null) {
+                    throw lastError;
+                }
+                throw e;
+            }
+
+            endpoint.outstanding.incrementAndGet();
+            try {
+                return call.apply(endpoint.restClient);
+            } catch (ResourceAccessException e) {
+                if (!isConnectionFailure(e)) {
+                    throw e;
+                }
+                evict(endpoint);
+                lastError = e;
+            } finally {
+                endpoint.outstanding.decrementAndGet();
+            }
+        }
+        throw lastError;
+    }
+
+    public int getInstanceCount() {
+        return endpoints.size();
+    }
+
+    private synchronized void evict(Endpoint endpoint) {
+        endpointsByUrl.remove(endpoint.url, endpoint);
+        endpoints = endpoints.stream()
+                .filter(current -> current != endpoint)
+                .toList();
+    }
+
+    // Повторяем только ошибки подключения: запрос до сервера не дошёл, и повтор не задвоит хит
+    private static boolean isConnectionFailure(ResourceAccessException e) {
+        Throwable cause = e.getCause();
+        return cause instanceof ConnectException
+                || cause instanceof NoRouteToHostException
+                || cause instanceof UnknownHostException
+                || cause instanceof HttpConnectTimeoutException;
+    }
+
+    private Endpoint choose() {
+        List<Endpoint> current = endpoints;
+        if (current.isEmpty()) {
+            refresh();
+            current = endpoints;
+        }
+        if (current.isEmpty()) {
+            throw new StatsServerUnavailable("Сервис статистики с id: " + serviceId + " не найден в реестре");
+        }
+
+        if (strategy == LoadBalancingStrategy.LEAST_OUTSTANDING) {
+            return current.stream()
+                    .min(Comparator.comparingInt(endpoint -> endpoint.outstanding.get()))
+                    .orElseThrow();
+        }
+        return current.get(Math.floorMod(nextIndex.getAndIncrement(), current.size()));
+    }
+
+    private static String toUrl(ServiceInstance instance) {
+        return String.format("http://%s:%d", instance.getHost(), instance.getPort());
+    }
+
+    private static final class Endpoint {
+        private final String url;
+        private final RestClient restClient;
+        private final AtomicInteger outstanding = new AtomicInteger();
+
+        private Endpoint(String url, RestClient restClient) {
+            this.url = url;
+            this.restClient = restClient;
+        }
+    }
+}
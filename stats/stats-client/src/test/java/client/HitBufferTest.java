@@ -0,0 +1,66 @@
+package client;
+
+import model.EndpointHitDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HitBufferTest {
+
+    @Test
+    void failedBatchIsRetriedBeforeNewHits() {
+        HitBuffer buffer = new HitBuffer(10, OverflowPolicy.DROP_OLDEST);
+        buffer.add(hit("/events/1"));
+        buffer.add(hit("/events/2"));
+
+        List<EndpointHitDto> failed = buffer.nextBatch(1);
+        assertThat(buffer.retryLater(failed, 3)).isTrue();
+        buffer.add(hit("/events/3"));
+
+        assertThat(buffer.nextBatch(10)).isSameAs(failed);
+        assertThat(buffer.size()).isEqualTo(3);
+        assertThat(buffer.getRetriedCount()).isEqualTo(1);
+
+        buffer.markSent(failed.size());
+        assertThat(buffer.nextBatch(10)).extracting(EndpointHitDto::getUri)
+                .containsExactly("/events/2", "/events/3");
+    }
+
+    @Test
+    void batchIsDroppedAndCountedWhenRetriesAreExhausted() {
+        HitBuffer buffer = new HitBuffer(10, OverflowPolicy.DROP_OLDEST);
+        buffer.add(hit("/events/1"));
+        buffer.add(hit("/events/2"));
+
+        List<EndpointHitDto> batch = buffer.nextBatch(10);
+        assertThat(buffer.retryLater(batch, 2)).isTrue();
+        assertThat(buffer.retryLater(buffer.nextBatch(10), 2)).isTrue();
+        assertThat(buffer.retryLater(buffer.nextBatch(10), 2)).isFalse();
+
+        assertThat(buffer.getDroppedCount()).isEqualTo(2);
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+
+    @Test
+    void dropOldestPolicyCountsEvictedHits() {
+        HitBuffer buffer = new HitBuffer(2, OverflowPolicy.DROP_OLDEST);
+        buffer.add(hit("/events/1"));
+        buffer.add(hit("/events/2"));
+        buffer.add(hit("/events/3"));
+
+        assertThat(buffer.getDroppedCount()).isEqualTo(1);
+        assertThat(buffer.drain(10)).extracting(EndpointHitDto::getUri)
+                .containsExactly("/events/2", "/events/3");
+    }
+
+    private static EndpointHitDto hit(String uri) {
+        return EndpointHitDto.builder()
+                .uri(uri)
+                .ip("127.0.0.1")
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,98 @@
+package client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Накладные расходы на вызов сервиса статистики: прежний способ (запрос к discovery и сборка RestClient
+ * на каждом вызове) против закешированных клиентов балансировщика. Оба варианта ходят в локальный HTTP-сервер.
+ * Запуск: mvn test -Pbenchmark -pl stats/stats-client
+ */
+@Tag("benchmark")
+class StatsServerBalancerBenchmarkTest {
+    private static final String SERVICE_ID = "stats-server";
+    private static final int CALLS = 2_000;
+    private static final int WARMUP_CALLS = 500;
+
+    private final DiscoveryClient discoveryClient = mock(DiscoveryClient.class);
+    private final RestClient.Builder restClientBuilder = RestClient.builder();
+    private HttpServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        // Без TCP_NODELAY ответы по keep-alive соединению ждут отложенного ACK (~40 мс), у Tomcat он включён
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/ping", exchange -> {
+            byte[] body = "pong".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        ServiceInstance instance = new DefaultServiceInstance(SERVICE_ID + "-1", SERVICE_ID, "localhost",
+                server.getAddress().getPort(), false);
+        when(discoveryClient.getInstances(SERVICE_ID)).thenReturn(List.of(instance));
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void cachedClientsCostLessPerCallThanPerCallLookup() {
+        StatsServerBalancer balancer = new StatsServerBalancer(discoveryClient, restClientBuilder, SERVICE_ID,
+                LoadBalancingStrategy.ROUND_ROBIN);
+        balancer.refresh();
+        Supplier<String> perCallLookup = () -> ping(lookupClient());
+        Supplier<String> cached = () -> balancer.execute(this::ping);
+
+        measure(perCallLookup, WARMUP_CALLS);
+        measure(cached, WARMUP_CALLS);
+        long perCallNanos = measure(perCallLookup, CALLS);
+        long cachedNanos = measure(cached, CALLS);
+
+        System.out.printf("Вызов сервиса статистики, среднее на %d вызовов: discovery и RestClient на каждый "
+                        + "вызов %d мкс, закешированный клиент %d мкс%n",
+                CALLS, perCallNanos / CALLS / 1000, cachedNanos / CALLS / 1000);
+        assertThat(cachedNanos).isLessThan(perCallNanos);
+    }
+
+    // Прежняя реализация StatsClient.getRestClient()
+    private RestClient lookupClient() {
+        ServiceInstance instance = discoveryClient.getInstances(SERVICE_ID).stream()
+                .findFirst()
+                .orElseThrow();
+        return restClientBuilder.baseUrl(instance.getUri().toString()).build();
+    }
+
+    private String ping(RestClient restClient) {
+        return restClient.get().uri("/ping").retrieve().body(String.class);
+    }
+
+    private static long measure(Supplier<String> call, int calls) {
+        long started = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            assertThat(call.get()).isEqualTo("pong");
+        }
+        return System.nanoTime() - started;
+    }
+}
@@ -0,0 +1,90 @@
+package client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StatsServerBalancerTest {
+    private static final String SERVICE_ID = "stats-server";
+
+    private final DiscoveryClient discoveryClient = mock(DiscoveryClient.class);
+    private HttpServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/ping", exchange -> {
+            byte[] body = "pong".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void connectionFailureIsRetriedOnNextInstanceAndEvicted() throws IOException {
+        when(discoveryClient.getInstances(SERVICE_ID))
+                .thenReturn(List.of(instance(closedPort()), instance(server.getAddress().getPort())));
+        StatsServerBalancer balancer = balancer();
+        balancer.refresh();
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(balancer.execute(this::ping)).isEqualTo("pong");
+        }
+        assertThat(balancer.getInstanceCount()).isEqualTo(1);
+    }
+
+    @Test
+    void lastConnectionFailureIsThrownWhenAllInstancesAreDown() throws IOException {
+        when(discoveryClient.getInstances(SERVICE_ID))
+                .thenReturn(List.of(instance(closedPort()), instance(closedPort())));
+        StatsServerBalancer balancer = balancer();
+        balancer.refresh();
+
+        assertThatThrownBy(() -> balancer.execute(this::ping))
+                .isInstanceOf(ResourceAccessException.class);
+        assertThat(balancer.getInstanceCount()).isZero();
+    }
+
+    private StatsServerBalancer balancer() {
+        return new StatsServerBalancer(discoveryClient, RestClient.builder(), SERVICE_ID,
+                LoadBalancingStrategy.ROUND_ROBIN);
+    }
+
+    private String ping(RestClient restClient) {
+        return restClient.get().uri("/ping").retrieve().body(String.class);
+    }
+
+    private static ServiceInstance instance(int port) {
+        return new DefaultServiceInstance(SERVICE_ID + "-" + port, SERVICE_ID, "localhost", port, false);
+    }
+
+    private static int closedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -11,4 +12,12 @@ public class ViewStatsDto {
     private String app;
     private String uri;
     private Long hits;
-}
\ No newline at end of file
+
+    // true, если hits — оценка уникальных просмотров по скетчам HyperLogLog, а не точный подсчёт
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean approximate;
+
+    public ViewStatsDto(String app, String uri, Long hits) {
+        this(app, uri, hits, null);
+    }
+}
@@ -30,18 +30,27 @@ public class StatsController {
         statsService.saveHit(endpointHitDto);
     }
 
+    @PostMapping("/hit/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public void saveHits(@RequestBody List<@Valid EndpointHitDto> endpointHitDtos) {
+        log.info("Получен пакет hit: {} шт.", endpointHitDtos.size());
+        statsService.saveHits(endpointHitDtos);
+    }
+
     @GetMapping("/stats")
     public List<ViewStatsDto> getStats(
             @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime start,
             @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime end,
             @RequestParam(required = false) List<String> uris,
-            @RequestParam(defaultValue = "false") Boolean unique) {
+            @RequestParam(defaultValue = "false") Boolean unique,
+            @RequestParam(defaultValue = "false") Boolean approximate) {
 
         if (start.isAfter(end)) {
             throw new IllegalArgumentException("Дата начала должна быть раньше даты окончания");
         }
 
-        log.info("Получение статистики от {} до {}, uris: {}, unique: {}", start, end, uris, unique);
-        return statsService.getStats(start, end, uris, unique);
+        log.info("Получение статистики от {} до {}, uris: {}, unique: {}, approximate: {}",
+                start, end, uris, unique, approximate);
+        return statsService.getStats(start, end, uris, unique, approximate);
     }
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package server.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "hit_rollups",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uq_hit_rollups_bucket",
+                columnNames = {"granularity", "uri", "bucket_start", "app"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class HitRollupEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "app", nullable = false)
+    private String app;
+
+    @Column(name = "uri", nullable = false)
+    private String uri;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", nullable = false, length = 10)
+    private RollupGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "hits", nullable = false)
+    private Long hits;
+}
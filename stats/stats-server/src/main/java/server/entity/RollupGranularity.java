@@ -0,0 +1,45 @@
+package server.entity;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+
+public enum RollupGranularity {
+    DAY(ChronoUnit.DAYS, "day", true),
+    HOUR(ChronoUnit.HOURS, "hour", true),
+    MINUTE(ChronoUnit.MINUTES, "minute", false);
+
+    private final ChronoUnit unit;
+    private final String sqlField;
+    private final boolean sketched;
+
+    RollupGranularity(ChronoUnit unit, String sqlField, boolean sketched) {
+        this.unit = unit;
+        this.sqlField = sqlField;
+        this.sketched = sketched;
+    }
+
+    public static List<RollupGranularity> sketchedLevels() {
+        return Arrays.stream(values())
+                .filter(RollupGranularity::isSketched)
+                .toList();
+    }
+
+    public LocalDateTime floor(LocalDateTime dateTime) {
+        return dateTime.truncatedTo(unit);
+    }
+
+    public LocalDateTime ceil(LocalDateTime dateTime) {
+        LocalDateTime floor = floor(dateTime);
+        return floor.equals(dateTime) ? floor : floor.plus(1, unit);
+    }
+
+    public String getSqlField() {
+        return sqlField;
+    }
+
+    public boolean isSketched() {
+        return sketched;
+    }
+}
@@ -0,0 +1,240 @@
+package server.repository;
+
+import lombok.RequiredArgsConstructor;
+import model.EndpointHitDto;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import server.entity.RollupGranularity;
+import server.sketch.HyperLogLog;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Repository
+@RequiredArgsConstructor
+public class HitBatchRepository {
+    private static final String INSERT_HIT_SQL =
+            "INSERT INTO endpoint_hits (app, uri, ip, timestamp) VALUES (?, ?, ?, ?)";
+    private static final String UPSERT_ROLLUP_SQL =
+            "INSERT INTO hit_rollups (app, uri, granularity, bucket_start, hits) VALUES (?, ?, ?, ?, ?) " +
+            "ON CONFLICT (granularity, uri, bucket_start, app) " +
+            "DO UPDATE SET hits = hit_rollups.hits + EXCLUDED.hits";
+    private static final String BACKFILL_ROLLUP_SQL =
+            "INSERT INTO hit_rollups (app, uri, granularity, bucket_start, hits) " +
+            "SELECT app, uri, '%1$s', date_trunc('%2$s', timestamp), COUNT(*) " +
+            "FROM endpoint_hits " +
+            "GROUP BY app, uri, date_trunc('%2$s', timestamp)";
+    // Регистры объединяются в базе поэлементным максимумом: строка не читается в приложение
+    // и не блокируется отдельным запросом, блокировка держится только на время upsert
+    private static final String UPSERT_SKETCH_SQL =
+            "INSERT INTO hit_sketches (app, uri, granularity, bucket_start, registers) " +
+            "VALUES (?, ?, ?, ?, hll_merge_registers(NULL, ?, ?::int[], ?::int[])) " +
+            "ON CONFLICT (granularity, uri, bucket_start, app) " +
+            "DO UPDATE SET registers = hll_merge_registers(hit_sketches.registers, ?, ?::int[], ?::int[])";
+    private static final String BACKFILL_SKETCH_SOURCE_SQL =
+            "SELECT app, uri, date_trunc('hour', timestamp) AS bucket, ip " +
+            "FROM endpoint_hits " +
+            "ORDER BY app, uri, bucket";
+    private static final int BATCH_SIZE = 500;
+    private static final int BACKFILL_FETCH_SIZE = 1000;
+
+    private static final Comparator<RollupKey> LOCK_ORDER = Comparator
+            .comparing(RollupKey::granularity)
+            .thenComparing(RollupKey::uri)
+            .thenComparing(RollupKey::bucketStart)
+            .thenComparing(RollupKey::app);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<EndpointHitDto> hits) {
+        jdbcTemplate.batchUpdate(INSERT_HIT_SQL, hits, BATCH_SIZE, (ps, hit) -> {
+            ps.setString(1, hit.getApp());
+            ps.setString(2, hit.getUri());
+            ps.setString(3, hit.getIp());
+            ps.setTimestamp(4, Timestamp.valueOf(hit.getTimestamp()));
+        });
+    }
+
+    /**
+     * Пакет сначала сворачивается до одного приращения на бакет: горячий uri получает по одному upsert
+     * на гранулярность за пакет, а не на каждый хит, и строки блокируются один раз.
+     */
+    public void incrementRollups(List<EndpointHitDto> hits) {
+        List<Map.Entry<RollupKey, Long>> rows = aggregateRollups(hits);
+
+        jdbcTemplate.batchUpdate(UPSERT_ROLLUP_SQL, rows, BATCH_SIZE, (ps, row) -> {
+            RollupKey key = row.getKey();
+            ps.setString(1, key.app());
+            ps.setString(2, key.uri());
+            ps.setString(3, key.granularity().name());
+            ps.setTimestamp(4, Timestamp.valueOf(key.bucketStart()));
+            ps.setLong(5, row.getValue());
+        });
+    }
+
+    // Стабильный порядок строк, чтобы параллельные пакеты не взаимоблокировались
+    static List<Map.Entry<RollupKey, Long>> aggregateRollups(List<EndpointHitDto> hits) {
+        Map<RollupKey, Long> increments = new HashMap<>();
+        for (EndpointHitDto hit : hits) {
+            for (RollupGranularity granularity : RollupGranularity.values()) {
+                RollupKey key = new RollupKey(hit.getApp(), hit.getUri(), granularity,
+                        granularity.floor(hit.getTimestamp()));
+                increments.merge(key, 1L, Long::sum);
+            }
+        }
+        return increments.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(LOCK_ORDER))
+                .toList();
+    }
+
+    /**
+     * Скетчи пакета объединяются в памяти по бакетам и записываются одним пакетом upsert в порядке LOCK_ORDER;
+     * в базу передаются только ненулевые регистры каждого скетча.
+     */
+    public void mergeSketches(List<EndpointHitDto> hits) {
+        Map<RollupKey, HyperLogLog> sketches = new TreeMap<>(LOCK_ORDER);
+        for (EndpointHitDto hit : hits) {
+            for (RollupGranularity granularity : RollupGranularity.sketchedLevels()) {
+                RollupKey key = new RollupKey(hit.getApp(), hit.getUri(), granularity,
+                        granularity.floor(hit.getTimestamp()));
+                sketches.computeIfAbsent(key, k -> new HyperLogLog()).add(hit.getIp());
+            }
+        }
+        mergeSketches(sketches);
+    }
+
+    public boolean hasSketches() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM hit_sketches)", Boolean.class));
+    }
+
+    public void backfillSketches() {
+        SketchBackfill backfill = new SketchBackfill();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(BACKFILL_SKETCH_SOURCE_SQL);
+            statement.setFetchSize(BACKFILL_FETCH_SIZE);
+            return statement;
+        }, (RowCallbackHandler) rs -> backfill.accept(
+                rs.getString("app"), rs.getString("uri"),
+                rs.getTimestamp("bucket").toLocalDateTime(), rs.getString("ip")));
+        backfill.finish();
+    }
+
+    private void mergeSketches(Map<RollupKey, HyperLogLog> sketches) {
+        jdbcTemplate.batchUpdate(UPSERT_SKETCH_SQL, List.copyOf(sketches.entrySet()), BATCH_SIZE, (ps, row) -> {
+            RollupKey key = row.getKey();
+            HyperLogLog sketch = row.getValue();
+            int[] indexes = sketch.nonZeroIndexes();
+            Integer[] boxedIndexes = new Integer[indexes.length];
+            Integer[] values = new Integer[indexes.length];
+            for (int i = 0; i < indexes.length; i++) {
+                boxedIndexes[i] = indexes[i];
+                values[i] = sketch.register(indexes[i]);
+            }
+            Connection connection = ps.getConnection();
+            Array indexArray = connection.createArrayOf("int4", boxedIndexes);
+            Array valueArray = connection.createArrayOf("int4", values);
+
+            ps.setString(1, key.app());
+            ps.setString(2, key.uri());
+            ps.setString(3, key.granularity().name());
+            ps.setTimestamp(4, Timestamp.valueOf(key.bucketStart()));
+            ps.setInt(5, sketch.size());
+            ps.setArray(6, indexArray);
+            ps.setArray(7, valueArray);
+            ps.setInt(8, sketch.size());
+            ps.setArray(9, indexArray);
+            ps.setArray(10, valueArray);
+        });
+    }
+
+    public boolean hasRollups() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM hit_rollups)", Boolean.class));
+    }
+
+    public void lockHitsForBackfill() {
+        jdbcTemplate.execute("LOCK TABLE endpoint_hits IN SHARE ROW EXCLUSIVE MODE");
+    }
+
+    public void backfillRollups() {
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            jdbcTemplate.update(BACKFILL_ROLLUP_SQL.formatted(granularity.name(), granularity.getSqlField()));
+        }
+    }
+
+    /**
+     * Строит скетчи из потока хитов, упорядоченного по app, uri и часу: в памяти держится
+     * только текущий часовой и текущий дневной скетч.
+     */
+    private class SketchBackfill {
+        private final Map<RollupKey, HyperLogLog> completed = new TreeMap<>(LOCK_ORDER);
+        private RollupKey hourKey;
+        private RollupKey dayKey;
+        private HyperLogLog hourSketch;
+        private HyperLogLog daySketch;
+
+        void accept(String app, String uri, LocalDateTime hour, String ip) {
+            RollupKey nextHourKey = new RollupKey(app, uri, RollupGranularity.HOUR, hour);
+            RollupKey nextDayKey = new RollupKey(app, uri, RollupGranularity.DAY, RollupGranularity.DAY.floor(hour));
+
+            if (!nextHourKey.equals(hourKey)) {
+                flushHour();
+                hourKey = nextHourKey;
+                hourSketch = new HyperLogLog();
+            }
+            if (!nextDayKey.equals(dayKey)) {
+                flushDay();
+                dayKey = nextDayKey;
+                daySketch = new HyperLogLog();
+            }
+            hourSketch.add(ip);
+            daySketch.add(ip);
+        }
+
+        void finish() {
+            flushHour();
+            flushDay();
+            flushCompleted();
+        }
+
+        private void flushHour() {
+            if (hourKey != null) {
+                complete(hourKey, hourSketch);
+            }
+        }
+
+        private void flushDay() {
+            if (dayKey != null) {
+                complete(dayKey, daySketch);
+            }
+        }
+
+        private void complete(RollupKey key, HyperLogLog sketch) {
+            completed.merge(key, sketch, (current, next) -> {
+                current.merge(next);
+                return current;
+            });
+            if (completed.size() >= BATCH_SIZE) {
+                flushCompleted();
+            }
+        }
+
+        private void flushCompleted() {
+            mergeSketches(completed);
+            completed.clear();
+        }
+    }
+
+    record RollupKey(String app, String uri, RollupGranularity granularity, LocalDateTime bucketStart) {
+    }
+}
@@ -0,0 +1,63 @@
+package server.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DDL помесячных партиций таблицы endpoint_hits. Имена партиций передаются только из HitPartitionMaintainer,
+ * который строит их из месяца, поэтому подстановка в SQL безопасна.
+ */
+@Repository
+@RequiredArgsConstructor
+public class HitPartitionRepository {
+    private static final String FIND_PARTITIONS_SQL =
+            "SELECT c.relname FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = 'endpoint_hits'::regclass";
+    private static final String CREATE_PARTITION_SQL =
+            "CREATE TABLE %s (LIKE endpoint_hits INCLUDING DEFAULTS)";
+    private static final String MOVE_FROM_DEFAULT_SQL =
+            "WITH moved AS (" +
+            "DELETE FROM endpoint_hits_default WHERE timestamp >= ? AND timestamp < ? " +
+            "RETURNING id, app, uri, ip, timestamp) " +
+            "INSERT INTO %s (id, app, uri, ip, timestamp) SELECT id, app, uri, ip, timestamp FROM moved";
+    private static final String ATTACH_PARTITION_SQL =
+            "ALTER TABLE endpoint_hits ATTACH PARTITION %s FOR VALUES FROM ('%s') TO ('%s')";
+    private static final String DROP_PARTITION_SQL = "DROP TABLE IF EXISTS %s";
+    private static final String TRY_LOCK_SQL = "SELECT pg_try_advisory_xact_lock(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Пытается взять транзакционную advisory-блокировку; она снимается вместе с окончанием транзакции.
+     * Вызывается в транзакции, иначе блокировка отпустится сразу после запроса.
+     */
+    public boolean tryLock(long key) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK_SQL, Boolean.class, key));
+    }
+
+    public List<String> findPartitionNames() {
+        return jdbcTemplate.queryForList(FIND_PARTITIONS_SQL, String.class);
+    }
+
+    /**
+     * Создаёт партицию [from, to) и переносит в неё попавшие в default-партицию хиты этого диапазона:
+     * иначе присоединение партиции завершилось бы ошибкой. Вызывается в транзакции.
+     */
+    public int createPartition(String name, LocalDateTime from, LocalDateTime to) {
+        jdbcTemplate.execute(CREATE_PARTITION_SQL.formatted(name));
+        int moved = jdbcTemplate.update(MOVE_FROM_DEFAULT_SQL.formatted(name),
+                Timestamp.valueOf(from), Timestamp.valueOf(to));
+        jdbcTemplate.execute(ATTACH_PARTITION_SQL.formatted(name, Timestamp.valueOf(from), Timestamp.valueOf(to)));
+        return moved;
+    }
+
+    public void dropPartition(String name) {
+        jdbcTemplate.execute(DROP_PARTITION_SQL.formatted(name));
+    }
+}
@@ -0,0 +1,35 @@
+package server.repository;
+
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import server.entity.HitSketchEntity;
+import server.entity.RollupGranularity;
+import server.sketch.SketchRegisters;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+@Repository
+public interface HitSketchRepository extends JpaRepository<HitSketchEntity, Long> {
+
+    /**
+     * Скетчи читаются потоком проекций, а не сущностей: без uris это все бакеты периода по всем событиям,
+     * и в памяти не должны копиться ни строки результата, ни контекст персистентности. Вызывается в транзакции.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "100"))
+    @Query("SELECT new server.sketch.SketchRegisters(s.app, s.uri, s.registers) FROM HitSketchEntity s " +
+            "WHERE s.granularity = :granularity " +
+            "AND s.bucketStart >= :from AND s.bucketStart < :to " +
+            "AND (:uris IS NULL OR s.uri IN :uris)")
+    Stream<SketchRegisters> streamSketches(@Param("granularity") RollupGranularity granularity,
+                                           @Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to,
+                                           @Param("uris") List<String> uris);
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import server.entity.EndpointHitEntity;
+import server.sketch.VisitorKey;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -15,13 +16,20 @@ public interface StatsRepository extends JpaRepository<EndpointHitEntity, Long>
 
     @Query("SELECT new model.ViewStatsDto(h.app, h.uri, COUNT(h.ip)) " +
             "FROM EndpointHitEntity h " +
-            "WHERE h.timestamp BETWEEN :start AND :end " +
+            "WHERE h.timestamp >= :from AND h.timestamp < :to " +
             "AND (:uris IS NULL OR h.uri IN :uris) " +
-            "GROUP BY h.app, h.uri " +
-            "ORDER BY COUNT(h.ip) DESC")
-    List<ViewStatsDto> findStats(@Param("start") LocalDateTime start,
-                                 @Param("end") LocalDateTime end,
-                                 @Param("uris") List<String> uris);
+            "GROUP BY h.app, h.uri")
+    List<ViewStatsDto> findStatsInRange(@Param("from") LocalDateTime from,
+                                        @Param("to") LocalDateTime to,
+                                        @Param("uris") List<String> uris);
+
+    @Query("SELECT DISTINCT new server.sketch.VisitorKey(h.app, h.uri, h.ip) " +
+            "FROM EndpointHitEntity h " +
+            "WHERE h.timestamp >= :from AND h.timestamp < :to " +
+            "AND (:uris IS NULL OR h.uri IN :uris)")
+    List<VisitorKey> findVisitorsInRange(@Param("from") LocalDateTime from,
+                                         @Param("to") LocalDateTime to,
+                                         @Param("uris") List<String> uris);
 
     @Query("SELECT new model.ViewStatsDto(h.app, h.uri, COUNT(DISTINCT h.ip)) " +
             "FROM EndpointHitEntity h " +
@@ -0,0 +1,141 @@
+package server.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import server.repository.HitPartitionRepository;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Обслуживает помесячные партиции endpoint_hits: заранее создаёт партиции на ближайшие месяцы и удаляет
+ * целиком партиции старше срока хранения вместо DELETE. Агрегаты и скетчи при этом сохраняются,
+ * поэтому статистика за удалённые месяцы по-прежнему считается по ним. Одновременно обслуживает
+ * партиции только один экземпляр stats-server: остальные пропускают проход, не получив advisory-блокировку.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HitPartitionMaintainer {
+    private static final String PARTITION_PREFIX = "endpoint_hits_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    static final long MAINTENANCE_LOCK_KEY = 0x6869745f70617274L;
+
+    private final HitPartitionRepository hitPartitionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${stats.partitions.months-ahead:2}")
+    private int monthsAhead;
+
+    // 0 — сырые хиты хранятся бессрочно
+    @Value("${stats.partitions.retention-days:0}")
+    private int retentionDays;
+
+    @Value("${stats.partitions.maintenance-interval-ms:3600000}")
+    private long maintenanceIntervalMs;
+
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "hit-partition-maintainer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::maintain, 0, maintenanceIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdown();
+    }
+
+    public void maintain() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!hitPartitionRepository.tryLock(MAINTENANCE_LOCK_KEY)) {
+                    log.debug("Партиции хитов обслуживает другой экземпляр, проход пропущен");
+                    return;
+                }
+                Set<YearMonth> existing = findPartitionMonths();
+                createUpcomingPartitions(existing);
+                dropExpiredPartitions(existing);
+            });
+        } catch (Exception e) {
+            log.warn("Не удалось обслужить партиции хитов: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Момент, начиная с которого сырые хиты хранятся полностью, или null, если срок хранения не ограничен.
+     * Партиция удаляется, только когда целиком старше срока хранения, поэтому граница — начало месяца.
+     */
+    public LocalDateTime getRawHitsHorizon() {
+        if (retentionDays <= 0) {
+            return null;
+        }
+        return YearMonth.from(LocalDateTime.now().minusDays(retentionDays)).atDay(1).atStartOfDay();
+    }
+
+    private void createUpcomingPartitions(Set<YearMonth> existing) {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            if (existing.contains(month)) {
+                continue;
+            }
+            String name = partitionName(month);
+            int moved = hitPartitionRepository.createPartition(name,
+                    month.atDay(1).atStartOfDay(), month.plusMonths(1).atDay(1).atStartOfDay());
+            existing.add(month);
+            log.info("Создана партиция {}, перенесено из default-партиции хитов: {}", name, moved);
+        }
+    }
+
+    private void dropExpiredPartitions(Set<YearMonth> existing) {
+        if (retentionDays <= 0) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        for (YearMonth month : existing) {
+            if (month.plusMonths(1).atDay(1).atStartOfDay().isAfter(cutoff)) {
+                continue;
+            }
+            String name = partitionName(month);
+            hitPartitionRepository.dropPartition(name);
+            log.info("Удалена партиция {} старше срока хранения {} дн.", name, retentionDays);
+        }
+    }
+
+    private Set<YearMonth> findPartitionMonths() {
+        Set<YearMonth> months = new HashSet<>();
+        for (String name : hitPartitionRepository.findPartitionNames()) {
+            if (!name.startsWith(PARTITION_PREFIX)) {
+                continue;
+            }
+            try {
+                months.add(YearMonth.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX));
+            } catch (DateTimeParseException e) {
+                log.warn("Партиция {} не соответствует формату {}yyyyMM", name, PARTITION_PREFIX);
+            }
+        }
+        return months;
+    }
+
+    private static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+}
@@ -0,0 +1,39 @@
+package server.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import server.repository.HitBatchRepository;
+
+/**
+ * Однократно заполняет агрегаты и скетчи из уже сохранённых хитов до того, как сервер начнёт принимать запросы.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HitRollupInitializer implements SmartInitializingSingleton {
+    private final HitBatchRepository hitBatchRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Блокировка хитов берётся, только если заполнять действительно нужно: при обычном перезапуске
+    // агрегаты уже есть, и приём хитов другими экземплярами не останавливается
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (hitBatchRepository.hasRollups() && hitBatchRepository.hasSketches()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            hitBatchRepository.lockHitsForBackfill();
+            if (!hitBatchRepository.hasRollups()) {
+                log.info("Заполнение агрегатов статистики из сохранённых хитов");
+                hitBatchRepository.backfillRollups();
+            }
+            if (!hitBatchRepository.hasSketches()) {
+                log.info("Заполнение скетчей уникальных посетителей из сохранённых хитов");
+                hitBatchRepository.backfillSketches();
+            }
+        });
+    }
+}
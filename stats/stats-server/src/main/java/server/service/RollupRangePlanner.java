@@ -0,0 +1,62 @@
+package server.service;
+
+import server.entity.RollupGranularity;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Разбивает полуинтервал [from, to) на отрезки, выровненные по бакетам агрегатов (день, час, минута),
+ * и крайние невыровненные куски, которые читаются из сырых хитов.
+ */
+public final class RollupRangePlanner {
+    private RollupRangePlanner() {
+    }
+
+    public static List<StatsRange> plan(LocalDateTime from, LocalDateTime to) {
+        return plan(from, to, List.of(RollupGranularity.values()));
+    }
+
+    /**
+     * @param levels гранулярности от крупной к мелкой, по которым есть агрегаты
+     */
+    public static List<StatsRange> plan(LocalDateTime from, LocalDateTime to, List<RollupGranularity> levels) {
+        List<StatsRange> ranges = new ArrayList<>();
+        split(from, to, levels, 0, ranges);
+        return ranges;
+    }
+
+    private static void split(LocalDateTime from, LocalDateTime to, List<RollupGranularity> levels, int level,
+                              List<StatsRange> ranges) {
+        if (!from.isBefore(to)) {
+            return;
+        }
+        if (level == levels.size()) {
+            ranges.add(new StatsRange(null, from, to));
+            return;
+        }
+
+        RollupGranularity granularity = levels.get(level);
+        LocalDateTime alignedFrom = granularity.ceil(from);
+        LocalDateTime alignedTo = granularity.floor(to);
+
+        if (!alignedFrom.isBefore(alignedTo)) {
+            split(from, to, levels, level + 1, ranges);
+            return;
+        }
+
+        split(from, alignedFrom, levels, level + 1, ranges);
+        ranges.add(new StatsRange(granularity, alignedFrom, alignedTo));
+        split(alignedTo, to, levels, level + 1, ranges);
+    }
+
+    /**
+     * Отрезок запроса статистики; granularity == null означает чтение сырых хитов.
+     */
+    public record StatsRange(RollupGranularity granularity, LocalDateTime from, LocalDateTime to) {
+        public boolean isRaw() {
+            return granularity == null;
+        }
+    }
+}
@@ -5,12 +5,23 @@ import lombok.extern.slf4j.Slf4j;
 import model.EndpointHitDto;
 import model.ViewStatsDto;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import server.repository.HitBatchRepository;
+import server.repository.HitRollupRepository;
+import server.repository.HitSketchRepository;
 import server.repository.StatsRepository;
-import server.entity.EndpointHitEntity;
-import server.mapper.EndpointHitMapper;
+import server.entity.RollupGranularity;
+import server.service.RollupRangePlanner.StatsRange;
+import server.sketch.HyperLogLog;
+import server.sketch.SketchRegisters;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -18,26 +29,106 @@ import java.util.List;
 public class StatsService {
 
     private final StatsRepository statsRepository;
-    private final EndpointHitMapper endpointHitMapper;
+    private final HitBatchRepository hitBatchRepository;
+    private final HitRollupRepository hitRollupRepository;
+    private final HitSketchRepository hitSketchRepository;
+    private final HitPartitionMaintainer hitPartitionMaintainer;
 
-    public EndpointHitDto saveHit(EndpointHitDto endpointHitDto) {
+    // Одиночный хит идёт тем же путём, что и пакет: три пакетных запроса без чтения агрегатов и скетчей
+    @Transactional
+    public void saveHit(EndpointHitDto endpointHitDto) {
         log.info("Сохранение hit: {}", endpointHitDto);
-        EndpointHitEntity entity = endpointHitMapper.toEntity(endpointHitDto);
-        EndpointHitEntity savedEntity = statsRepository.save(entity);
-        return endpointHitMapper.toDto(savedEntity);
+        List<EndpointHitDto> hits = List.of(endpointHitDto);
+        hitBatchRepository.insertAll(hits);
+        hitBatchRepository.incrementRollups(hits);
+        hitBatchRepository.mergeSketches(hits);
     }
 
-    public List<ViewStatsDto> getStats(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique) {
-        log.info("Получение статистики: start={}, end={}, uris={}, unique={}", start, end, uris, unique);
+    @Transactional
+    public void saveHits(List<EndpointHitDto> endpointHitDtos) {
+        log.info("Сохранение пакета hit: {} шт.", endpointHitDtos.size());
+        hitBatchRepository.insertAll(endpointHitDtos);
+        hitBatchRepository.incrementRollups(endpointHitDtos);
+        hitBatchRepository.mergeSketches(endpointHitDtos);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ViewStatsDto> getStats(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique,
+                                       Boolean approximate) {
+        log.info("Получение статистики: start={}, end={}, uris={}, unique={}, approximate={}",
+                start, end, uris, unique, approximate);
 
         List<ViewStatsDto> result;
-        if (Boolean.TRUE.equals(unique)) {
-            result = statsRepository.findUniqueStats(start, end, uris);
+        if (Boolean.TRUE.equals(unique) && Boolean.TRUE.equals(approximate)) {
+            result = getApproximateUniqueStats(start, end, uris);
+        } else if (Boolean.TRUE.equals(unique)) {
+            result = isRawHistoryComplete(start)
+                    ? statsRepository.findUniqueStats(start, end, uris)
+                    : getApproximateUniqueStats(start, end, uris);
         } else {
-            result = statsRepository.findStats(start, end, uris);
+            result = getStatsFromRollups(start, end, uris);
         }
 
         log.info("Результат статистики: {}", result);
         return result;
     }
+
+    // Точный подсчёт уникальных ip возможен только по сырым хитам. Если часть периода уже удалена
+    // по сроку хранения, весь период оценивается по скетчам: уникальные значения частей периода не складываются,
+    // а скетчи объединяются. Такой ответ помечен approximate = true
+    private boolean isRawHistoryComplete(LocalDateTime start) {
+        LocalDateTime horizon = hitPartitionMaintainer.getRawHitsHorizon();
+        if (horizon != null && start.isBefore(horizon)) {
+            log.info("Начало периода {} раньше границы хранения сырых хитов {}, уникальные просмотры оцениваются " +
+                    "по скетчам", start, horizon);
+            return false;
+        }
+        return true;
+    }
+
+    private List<ViewStatsDto> getApproximateUniqueStats(LocalDateTime start, LocalDateTime end, List<String> uris) {
+        LocalDateTime endExclusive = end.plus(1, ChronoUnit.MICROS);
+        Map<List<String>, HyperLogLog> sketches = new LinkedHashMap<>();
+
+        for (StatsRange range : RollupRangePlanner.plan(start, endExclusive, RollupGranularity.sketchedLevels())) {
+            if (range.isRaw()) {
+                statsRepository.findVisitorsInRange(range.from(), range.to(), uris)
+                        .forEach(visitor -> sketches.computeIfAbsent(List.of(visitor.app(), visitor.uri()),
+                                key -> new HyperLogLog()).add(visitor.ip()));
+            } else {
+                try (Stream<SketchRegisters> stored = hitSketchRepository.streamSketches(range.granularity(),
+                        range.from(), range.to(), uris)) {
+                    stored.forEach(sketch -> sketches.computeIfAbsent(List.of(sketch.app(), sketch.uri()),
+                            key -> new HyperLogLog()).merge(HyperLogLog.fromBytes(sketch.registers())));
+                }
+            }
+        }
+
+        return sketches.entrySet().stream()
+                .map(entry -> new ViewStatsDto(entry.getKey().get(0), entry.getKey().get(1),
+                        entry.getValue().estimate(), true))
+                .sorted(Comparator.comparing(ViewStatsDto::getHits).reversed())
+                .toList();
+    }
+
+    private List<ViewStatsDto> getStatsFromRollups(LocalDateTime start, LocalDateTime end, List<String> uris) {
+        // Правая граница в запросе включительная, отрезки планировщика — полуинтервалы
+        LocalDateTime endExclusive = end.plus(1, ChronoUnit.MICROS);
+        Map<List<String>, ViewStatsDto> totals = new LinkedHashMap<>();
+
+        for (StatsRange range : RollupRangePlanner.plan(start, endExclusive)) {
+            List<ViewStatsDto> partial = range.isRaw()
+                    ? statsRepository.findStatsInRange(range.from(), range.to(), uris)
+                    : hitRollupRepository.sumHits(range.granularity(), range.from(), range.to(), uris);
+
+            partial.forEach(stat -> totals.merge(List.of(stat.getApp(), stat.getUri()), stat, (current, added) -> {
+                current.setHits(current.getHits() + added.getHits());
+                return current;
+            }));
+        }
+
+        return totals.values().stream()
+                .sorted(Comparator.comparing(ViewStatsDto::getHits).reversed())
+                .toList();
+    }
 }
\ No newline at end of file
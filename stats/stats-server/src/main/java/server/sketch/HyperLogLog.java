@@ -0,0 +1,128 @@
+package server.sketch;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Скетч HyperLogLog для приближённого подсчёта уникальных значений.
+ * Скетчи с одинаковой точностью объединяются поэлементным максимумом регистров.
+ */
+public class HyperLogLog {
+    public static final int DEFAULT_PRECISION = 12;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 18) {
+            throw new IllegalArgumentException("Точность HyperLogLog должна быть в диапазоне 4..18");
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    private HyperLogLog(byte[] registers) {
+        this.precision = Integer.numberOfTrailingZeros(registers.length);
+        if (registers.length != 1 << precision) {
+            throw new IllegalArgumentException("Размер регистров HyperLogLog должен быть степенью двойки");
+        }
+        this.registers = registers;
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        return new HyperLogLog(Arrays.copyOf(bytes, bytes.length));
+    }
+
+    public byte[] toBytes() {
+        return Arrays.copyOf(registers, registers.length);
+    }
+
+    public int size() {
+        return registers.length;
+    }
+
+    /**
+     * Номера ненулевых регистров по возрастанию: для скетча из нескольких хитов их единицы или сотни,
+     * поэтому при объединении с хранимым скетчем передаются только они.
+     */
+    public int[] nonZeroIndexes() {
+        return IntStream.range(0, registers.length)
+                .filter(i -> registers[i] != 0)
+                .toArray();
+    }
+
+    public int register(int index) {
+        return registers[index];
+    }
+
+    public void add(String value) {
+        long hash = hash(value);
+        int index = (int) (hash >>> (Long.SIZE - precision));
+        long remaining = hash << precision;
+        int rank = Math.min(Long.numberOfLeadingZeros(remaining), Long.SIZE - precision) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Нельзя объединить скетчи HyperLogLog с разной точностью");
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    public long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+
+        double estimate = alpha(m) * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    private static double alpha(int m) {
+        return switch (m) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / m);
+        };
+    }
+
+    // FNV-1a с финальным перемешиванием из MurmurHash3, чтобы старшие биты были равномерными
+    private static long hash(String value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
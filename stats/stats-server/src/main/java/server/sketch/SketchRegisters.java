@@ -0,0 +1,4 @@
+package server.sketch;
+
+public record SketchRegisters(String app, String uri, byte[] registers) {
+}
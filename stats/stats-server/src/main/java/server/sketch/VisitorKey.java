@@ -0,0 +1,4 @@
+package server.sketch;
+
+public record VisitorKey(String app, String uri, String ip) {
+}
@@ -0,0 +1,10 @@
+-- Схема, которую создавал hibernate ddl-auto: update до перехода на миграции.
+-- На существующих базах эта миграция пропускается (spring.flyway.baseline-version = 1).
+
+CREATE TABLE IF NOT EXISTS endpoint_hits (
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    app       VARCHAR(255) NOT NULL,
+    ip        VARCHAR(255) NOT NULL,
+    timestamp TIMESTAMP(6) NOT NULL,
+    uri       VARCHAR(255) NOT NULL
+);
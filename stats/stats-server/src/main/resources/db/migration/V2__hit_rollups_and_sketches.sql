@@ -0,0 +1,21 @@
+-- Агрегаты числа хитов по минутам, часам и дням
+CREATE TABLE IF NOT EXISTS hit_rollups (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    app          VARCHAR(255) NOT NULL,
+    uri          VARCHAR(255) NOT NULL,
+    granularity  VARCHAR(10)  NOT NULL,
+    bucket_start TIMESTAMP(6) NOT NULL,
+    hits         BIGINT       NOT NULL,
+    CONSTRAINT uq_hit_rollups_bucket UNIQUE (granularity, uri, bucket_start, app)
+);
+
+-- HyperLogLog-скетчи уникальных ip по часам и дням
+CREATE TABLE IF NOT EXISTS hit_sketches (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    app          VARCHAR(255) NOT NULL,
+    uri          VARCHAR(255) NOT NULL,
+    granularity  VARCHAR(10)  NOT NULL,
+    bucket_start TIMESTAMP(6) NOT NULL,
+    registers    BYTEA        NOT NULL,
+    CONSTRAINT uq_hit_sketches_bucket UNIQUE (granularity, uri, bucket_start, app)
+);
@@ -0,0 +1,15 @@
+-- Статистика по списку uri за период (StatsRepository): app и ip включены в индекс,
+-- чтобы подсчёт хитов и уникальных ip выполнялся index-only scan
+CREATE INDEX IF NOT EXISTS idx_endpoint_hits_uri_timestamp
+    ON endpoint_hits (uri, timestamp) INCLUDE (app, ip);
+
+-- Статистика без фильтра по uri и хвосты диапазона, не покрытые агрегатами
+CREATE INDEX IF NOT EXISTS idx_endpoint_hits_timestamp
+    ON endpoint_hits (timestamp);
+
+-- Агрегаты и скетчи без фильтра по uri; с фильтром используются индексы ограничений уникальности
+CREATE INDEX IF NOT EXISTS idx_hit_rollups_granularity_bucket
+    ON hit_rollups (granularity, bucket_start) INCLUDE (app, uri, hits);
+
+CREATE INDEX IF NOT EXISTS idx_hit_sketches_granularity_bucket
+    ON hit_sketches (granularity, bucket_start);
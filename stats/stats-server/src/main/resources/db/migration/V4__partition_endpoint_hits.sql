@@ -0,0 +1,51 @@
+-- Перевод endpoint_hits на помесячные партиции по timestamp: запросы статистики читают только партиции
+-- своего диапазона, а устаревшие хиты удаляются целыми партициями (HitPartitionMaintainer).
+-- Ключ партиционирования обязан входить в первичный ключ, поэтому он составной (id, timestamp).
+
+ALTER TABLE endpoint_hits RENAME TO endpoint_hits_unpartitioned;
+ALTER TABLE endpoint_hits_unpartitioned ALTER COLUMN id DROP IDENTITY IF EXISTS;
+DROP INDEX IF EXISTS idx_endpoint_hits_uri_timestamp;
+DROP INDEX IF EXISTS idx_endpoint_hits_timestamp;
+
+CREATE TABLE endpoint_hits (
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    app       VARCHAR(255) NOT NULL,
+    uri       VARCHAR(255) NOT NULL,
+    ip        VARCHAR(255) NOT NULL,
+    timestamp TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+-- Хиты вне созданных партиций; HitPartitionMaintainer переносит их при создании нужной партиции
+CREATE TABLE endpoint_hits_default PARTITION OF endpoint_hits DEFAULT;
+
+-- Партиции от месяца самого раннего хита до двух месяцев вперёд
+DO $$
+DECLARE
+    month_start TIMESTAMP := date_trunc('month',
+            LEAST(COALESCE((SELECT MIN(timestamp) FROM endpoint_hits_unpartitioned), LOCALTIMESTAMP), LOCALTIMESTAMP));
+    last_month  TIMESTAMP := date_trunc('month', LOCALTIMESTAMP) + INTERVAL '2 months';
+BEGIN
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF endpoint_hits FOR VALUES FROM (%L) TO (%L)',
+                       'endpoint_hits_p' || to_char(month_start, 'YYYYMM'),
+                       month_start, month_start + INTERVAL '1 month');
+        month_start := month_start + INTERVAL '1 month';
+    END LOOP;
+END $$;
+
+INSERT INTO endpoint_hits (id, app, uri, ip, timestamp)
+SELECT id, app, uri, ip, timestamp
+FROM endpoint_hits_unpartitioned;
+
+SELECT setval(pg_get_serial_sequence('endpoint_hits', 'id'),
+              COALESCE((SELECT MAX(id) FROM endpoint_hits), 0) + 1, false);
+
+DROP TABLE endpoint_hits_unpartitioned;
+
+-- Индексы партиционированной таблицы создаются на каждой партиции, в том числе на новых
+CREATE INDEX idx_endpoint_hits_uri_timestamp
+    ON endpoint_hits (uri, timestamp) INCLUDE (app, ip);
+
+CREATE INDEX idx_endpoint_hits_timestamp
+    ON endpoint_hits (timestamp);
@@ -0,0 +1,21 @@
+-- Поэлементный максимум регистров HyperLogLog по разреженному списку изменённых регистров.
+-- Позволяет объединять скетчи одним INSERT ... ON CONFLICT DO UPDATE без чтения строки в приложение.
+-- Для новой строки (registers IS NULL) регистры создаются нулевыми размера size.
+CREATE OR REPLACE FUNCTION hll_merge_registers(registers BYTEA, size INT, idx INT[], vals INT[])
+    RETURNS BYTEA
+    LANGUAGE plpgsql
+    IMMUTABLE
+AS
+$$
+DECLARE
+    merged BYTEA := COALESCE(registers, decode(repeat('00', size), 'hex'));
+BEGIN
+    FOR i IN 1 .. COALESCE(array_length(idx, 1), 0)
+        LOOP
+            IF get_byte(merged, idx[i]) < vals[i] THEN
+                merged := set_byte(merged, idx[i], vals[i]);
+            END IF;
+        END LOOP;
+    RETURN merged;
+END
+$$;
@@ -0,0 +1,129 @@
+package server.repository;
+
+import model.EndpointHitDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import server.entity.RollupGranularity;
+import server.sketch.HyperLogLog;
+import util.test.PostgresIntegrationTest;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.withinPercentage;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(HitBatchRepository.class)
+class HitBatchRepositoryTest extends PostgresIntegrationTest {
+    private static final LocalDateTime NOW = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+    @Autowired
+    private HitBatchRepository hitBatchRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void insertAllStoresEveryHitOfBatchLargerThanJdbcBatch() {
+        List<EndpointHitDto> hits = IntStream.range(0, 1201)
+                .mapToObj(i -> hit("/events/" + i % 3, "10.0.0." + i % 7, NOW.minusSeconds(i)))
+                .toList();
+
+        hitBatchRepository.insertAll(hits);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM endpoint_hits", Long.class))
+                .isEqualTo(1201L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM endpoint_hits WHERE uri = '/events/0' AND app = 'ewm-main-service'",
+                Long.class))
+                .isEqualTo(401L);
+    }
+
+    @Test
+    void rollupsAreAggregatedPerBucketBeforeUpsert() {
+        LocalDateTime minute = NOW.truncatedTo(ChronoUnit.MINUTES);
+        List<EndpointHitDto> hits = IntStream.range(0, 100)
+                .mapToObj(i -> hit("/events/1", "10.0.0." + i, minute.plusSeconds(i % 60)))
+                .toList();
+
+        assertThat(HitBatchRepository.aggregateRollups(hits))
+                .hasSize(RollupGranularity.values().length)
+                .allSatisfy(row -> assertThat(row.getValue()).isEqualTo(100L));
+    }
+
+    @Test
+    void incrementRollupsAddsToExistingBuckets() {
+        LocalDateTime minute = NOW.truncatedTo(ChronoUnit.MINUTES);
+        List<EndpointHitDto> hits = List.of(
+                hit("/events/1", "10.0.0.1", minute),
+                hit("/events/1", "10.0.0.2", minute.plusSeconds(10)),
+                hit("/events/2", "10.0.0.1", minute.plusSeconds(20)));
+
+        hitBatchRepository.incrementRollups(hits);
+        hitBatchRepository.incrementRollups(hits);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT hits FROM hit_rollups " +
+                "WHERE uri = '/events/1' AND granularity = 'MINUTE'", Long.class))
+                .isEqualTo(4L);
+        assertThat(jdbcTemplate.queryForObject("SELECT hits FROM hit_rollups " +
+                "WHERE uri = '/events/2' AND granularity = 'DAY'", Long.class))
+                .isEqualTo(2L);
+    }
+
+    @Test
+    void mergeSketchesUnionsNewAndExistingBucketsInOneBatch() {
+        LocalDateTime hour = NOW.truncatedTo(ChronoUnit.HOURS);
+        List<EndpointHitDto> first = IntStream.range(0, 600)
+                .mapToObj(i -> hit("/events/" + i % 2, "10.0.1." + i, hour))
+                .toList();
+        List<EndpointHitDto> second = IntStream.range(300, 900)
+                .mapToObj(i -> hit("/events/" + i % 3, "10.0.1." + i, hour))
+                .toList();
+
+        hitBatchRepository.mergeSketches(first);
+        hitBatchRepository.mergeSketches(second);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM hit_sketches", Long.class))
+                .isEqualTo(6L);
+        HyperLogLog events0 = HyperLogLog.fromBytes(jdbcTemplate.queryForObject("SELECT registers FROM hit_sketches " +
+                "WHERE uri = '/events/0' AND granularity = 'HOUR'", byte[].class));
+        long expected = IntStream.range(0, 900)
+                .filter(i -> i < 600 && i % 2 == 0 || i >= 300 && i % 3 == 0)
+                .count();
+        assertThat(events0.estimate()).isCloseTo(expected, withinPercentage(5));
+    }
+
+    @Test
+    void singleHitMergesKeepStoredRegistersEqualToInMemoryUnion() {
+        LocalDateTime hour = NOW.truncatedTo(ChronoUnit.HOURS);
+        List<EndpointHitDto> hits = IntStream.range(0, 320)
+                .mapToObj(i -> hit("/events/1", "10.0.2." + i, hour.plusSeconds(i)))
+                .toList();
+        HyperLogLog expected = new HyperLogLog();
+        hits.forEach(hit -> expected.add(hit.getIp()));
+
+        hitBatchRepository.mergeSketches(hits.subList(0, 300));
+        hits.subList(300, hits.size()).forEach(hit -> hitBatchRepository.mergeSketches(List.of(hit)));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT registers FROM hit_sketches " +
+                "WHERE uri = '/events/1' AND granularity = 'HOUR'", byte[].class))
+                .isEqualTo(expected.toBytes());
+    }
+
+    static EndpointHitDto hit(String uri, String ip, LocalDateTime timestamp) {
+        return EndpointHitDto.builder()
+                .app("ewm-main-service")
+                .uri(uri)
+                .ip(ip)
+                .timestamp(timestamp)
+                .build();
+    }
+}
@@ -0,0 +1,52 @@
+package server.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import server.entity.RollupGranularity;
+import server.sketch.HyperLogLog;
+import server.sketch.SketchRegisters;
+import util.test.PostgresIntegrationTest;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static server.repository.HitBatchRepositoryTest.hit;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(HitBatchRepository.class)
+class HitSketchRepositoryTest extends PostgresIntegrationTest {
+    private static final LocalDateTime DAY = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS);
+
+    @Autowired
+    private HitSketchRepository hitSketchRepository;
+
+    @Autowired
+    private HitBatchRepository hitBatchRepository;
+
+    @Test
+    void streamSketchesReturnsEveryUriWhenUrisAreNotGiven() {
+        hitBatchRepository.mergeSketches(IntStream.range(0, 90)
+                .mapToObj(i -> hit("/events/" + i % 3, "10.0.3." + i, DAY.plusHours(i % 24)))
+                .toList());
+
+        List<SketchRegisters> sketches;
+        try (Stream<SketchRegisters> stream = hitSketchRepository.streamSketches(RollupGranularity.DAY,
+                DAY, DAY.plusDays(1), null)) {
+            sketches = stream.toList();
+        }
+
+        assertThat(sketches).extracting(SketchRegisters::uri)
+                .containsExactlyInAnyOrder("/events/0", "/events/1", "/events/2");
+        assertThat(sketches).allSatisfy(sketch ->
+                assertThat(HyperLogLog.fromBytes(sketch.registers()).estimate()).isCloseTo(30L, within(2L)));
+    }
+}
@@ -0,0 +1,13 @@
+package server.repository;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import server.entity.EndpointHitEntity;
+
+/**
+ * Конфигурация для срезов @DataJpaTest: явный @ComponentScan в StatsServerApplication отключает фильтры среза.
+ */
+@SpringBootApplication
+@EntityScan(basePackageClasses = EndpointHitEntity.class)
+public class JpaTestApplication {
+}
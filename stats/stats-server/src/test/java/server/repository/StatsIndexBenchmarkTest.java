@@ -0,0 +1,63 @@
+package server.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import util.test.IndexBenchmark;
+import util.test.PostgresIntegrationTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Задержка точной статистики по списку uri за месяц на 500 000 хитах с индексом idx_endpoint_hits_uri_timestamp
+ * и без него. Запуск: mvn test -Pbenchmark -pl stats/stats-server
+ */
+@Tag("benchmark")
+@Slf4j
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class StatsIndexBenchmarkTest extends PostgresIntegrationTest {
+    private static final int HITS = 500_000;
+    private static final int URIS = 5_000;
+    private static final int RUNS = 30;
+
+    @Autowired
+    private StatsRepository statsRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("INSERT INTO endpoint_hits (app, uri, ip, timestamp) " +
+                "SELECT 'ewm-main-service', '/events/' || i % ?, '10.0.' || i % 250 || '.' || i % 199, " +
+                "LOCALTIMESTAMP - (i % 43200) * INTERVAL '1 minute' FROM generate_series(1, ?) i", URIS, HITS);
+        jdbcTemplate.execute("ANALYZE endpoint_hits");
+    }
+
+    @Test
+    void uniqueStatsOfEventPageUseIndex() {
+        List<String> uris = IntStream.rangeClosed(1, 10).mapToObj(i -> "/events/" + i).toList();
+        LocalDateTime end = LocalDateTime.now();
+
+        IndexBenchmark.Result result = IndexBenchmark.measure(transactionManager, jdbcTemplate,
+                "idx_endpoint_hits_uri_timestamp", RUNS,
+                () -> assertThat(statsRepository.findUniqueStats(end.minusDays(30), end, uris)).hasSize(10));
+
+        log.info("Уникальные просмотры 10 событий за 30 дней: {}", result);
+        assertThat(result.withIndexNanos()).isLessThan(result.withoutIndexNanos());
+    }
+}
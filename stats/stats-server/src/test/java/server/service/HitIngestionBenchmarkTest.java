@@ -0,0 +1,103 @@
+package server.service;
+
+import lombok.extern.slf4j.Slf4j;
+import model.EndpointHitDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import server.repository.HitBatchRepository;
+import server.repository.JpaTestApplication;
+import util.test.PostgresIntegrationTest;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Сравнивает пропускную способность приёма хитов по одному (POST /hit) и пакетами (POST /hit/batch)
+ * на уровне сервиса: каждый вызов идёт в своей транзакции, как при обработке HTTP-запроса.
+ * Запуск: mvn test -Pbenchmark -pl stats/stats-server
+ */
+@Tag("benchmark")
+@Slf4j
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = JpaTestApplication.class)
+@Import({StatsService.class, HitBatchRepository.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class HitIngestionBenchmarkTest extends PostgresIntegrationTest {
+    private static final int HITS = 5_000;
+    private static final int WARMUP_HITS = 500;
+    private static final int BATCH_SIZE = 500;
+    private static final LocalDateTime NOW = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+    @MockBean
+    private HitPartitionMaintainer hitPartitionMaintainer;
+
+    @Autowired
+    private StatsService statsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("TRUNCATE endpoint_hits, hit_rollups, hit_sketches");
+    }
+
+    @Test
+    void batchIngestionOutperformsSingleHits() {
+        saveOneByOne(hits(WARMUP_HITS));
+        saveInBatches(hits(WARMUP_HITS));
+
+        long singleNanos = saveOneByOne(hits(HITS));
+        long batchNanos = saveInBatches(hits(HITS));
+
+        double singleRate = HITS * 1e9 / singleNanos;
+        double batchRate = HITS * 1e9 / batchNanos;
+        log.info("Приём {} хитов: по одному {} хит/с, пакетами по {} — {} хит/с, ускорение x{}",
+                HITS, Math.round(singleRate), BATCH_SIZE, Math.round(batchRate),
+                String.format("%.1f", batchRate / singleRate));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM endpoint_hits", Long.class))
+                .isEqualTo(2L * (HITS + WARMUP_HITS));
+        assertThat(batchRate).isGreaterThan(singleRate * 2);
+    }
+
+    private long saveOneByOne(List<EndpointHitDto> hits) {
+        long started = System.nanoTime();
+        hits.forEach(statsService::saveHit);
+        return System.nanoTime() - started;
+    }
+
+    private long saveInBatches(List<EndpointHitDto> hits) {
+        long started = System.nanoTime();
+        for (int from = 0; from < hits.size(); from += BATCH_SIZE) {
+            statsService.saveHits(hits.subList(from, Math.min(from + BATCH_SIZE, hits.size())));
+        }
+        return System.nanoTime() - started;
+    }
+
+    private static List<EndpointHitDto> hits(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> EndpointHitDto.builder()
+                        .app("ewm-main-service")
+                        .uri("/events/" + i % 50)
+                        .ip("10.0." + i / 250 % 250 + "." + i % 250)
+                        .timestamp(NOW.minusSeconds(i))
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,88 @@
+package server.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import server.repository.HitPartitionRepository;
+import server.repository.JpaTestApplication;
+import util.test.PostgresIntegrationTest;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = JpaTestApplication.class)
+@Import(HitPartitionRepository.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class HitPartitionMaintainerTest extends PostgresIntegrationTest {
+    private static final int MONTHS_AHEAD = 30;
+
+    @Autowired
+    private HitPartitionRepository hitPartitionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private HitPartitionMaintainer maintainer;
+    private Set<String> partitionsBefore;
+
+    @BeforeEach
+    void setUp() {
+        maintainer = new HitPartitionMaintainer(hitPartitionRepository, transactionTemplate);
+        ReflectionTestUtils.setField(maintainer, "monthsAhead", MONTHS_AHEAD);
+        partitionsBefore = new HashSet<>(hitPartitionRepository.findPartitionNames());
+    }
+
+    @AfterEach
+    void dropCreatedPartitions() {
+        hitPartitionRepository.findPartitionNames().stream()
+                .filter(name -> !partitionsBefore.contains(name))
+                .forEach(hitPartitionRepository::dropPartition);
+    }
+
+    @Test
+    void maintainSkipsPassWhileAnotherInstanceHoldsLock() throws Exception {
+        String lastPartition = "endpoint_hits_p"
+                + YearMonth.now().plusMonths(MONTHS_AHEAD).format(DateTimeFormatter.ofPattern("yyyyMM"));
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread otherInstance = new Thread(() -> transactionTemplate.executeWithoutResult(status -> {
+            hitPartitionRepository.tryLock(HitPartitionMaintainer.MAINTENANCE_LOCK_KEY);
+            locked.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        otherInstance.start();
+        assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+        maintainer.maintain();
+        List<String> whileLocked = hitPartitionRepository.findPartitionNames();
+
+        release.countDown();
+        otherInstance.join();
+        maintainer.maintain();
+
+        assertThat(whileLocked).doesNotContain(lastPartition);
+        assertThat(hitPartitionRepository.findPartitionNames()).contains(lastPartition);
+    }
+}
@@ -0,0 +1,81 @@
+package server.service;
+
+import org.junit.jupiter.api.Test;
+import server.entity.RollupGranularity;
+import server.service.RollupRangePlanner.StatsRange;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RollupRangePlannerTest {
+
+    @Test
+    void splitsRangeIntoAlignedBucketsAndRawEdges() {
+        LocalDateTime from = LocalDateTime.of(2024, 3, 1, 22, 58, 30);
+        LocalDateTime to = LocalDateTime.of(2024, 3, 3, 1, 2, 15);
+
+        List<StatsRange> ranges = RollupRangePlanner.plan(from, to);
+
+        assertThat(ranges).containsExactly(
+                new StatsRange(null, from, LocalDateTime.of(2024, 3, 1, 22, 59)),
+                new StatsRange(RollupGranularity.MINUTE,
+                        LocalDateTime.of(2024, 3, 1, 22, 59), LocalDateTime.of(2024, 3, 1, 23, 0)),
+                new StatsRange(RollupGranularity.HOUR,
+                        LocalDateTime.of(2024, 3, 1, 23, 0), LocalDateTime.of(2024, 3, 2, 0, 0)),
+                new StatsRange(RollupGranularity.DAY,
+                        LocalDateTime.of(2024, 3, 2, 0, 0), LocalDateTime.of(2024, 3, 3, 0, 0)),
+                new StatsRange(RollupGranularity.HOUR,
+                        LocalDateTime.of(2024, 3, 3, 0, 0), LocalDateTime.of(2024, 3, 3, 1, 0)),
+                new StatsRange(RollupGranularity.MINUTE,
+                        LocalDateTime.of(2024, 3, 3, 1, 0), LocalDateTime.of(2024, 3, 3, 1, 2)),
+                new StatsRange(null, LocalDateTime.of(2024, 3, 3, 1, 2), to));
+    }
+
+    @Test
+    void rangesAreContiguousAndAlignedForArbitraryBounds() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 31, 23, 59, 59, 999_999_000);
+        for (int i = 0; i < 500; i++) {
+            LocalDateTime from = base.plusSeconds(i * 7919L);
+            LocalDateTime to = from.plusSeconds(i * 104_729L + 1);
+
+            List<StatsRange> ranges = RollupRangePlanner.plan(from, to);
+
+            assertThat(ranges.getFirst().from()).isEqualTo(from);
+            assertThat(ranges.getLast().to()).isEqualTo(to);
+            for (int j = 0; j < ranges.size(); j++) {
+                StatsRange range = ranges.get(j);
+                assertThat(range.from()).isBefore(range.to());
+                if (j > 0) {
+                    assertThat(range.from()).isEqualTo(ranges.get(j - 1).to());
+                }
+                if (range.isRaw()) {
+                    assertThat(range.from().plusMinutes(1)).isAfterOrEqualTo(range.to());
+                } else {
+                    assertThat(range.granularity().floor(range.from())).isEqualTo(range.from());
+                    assertThat(range.granularity().floor(range.to())).isEqualTo(range.to());
+                }
+            }
+        }
+    }
+
+    @Test
+    void sketchedLevelsLeaveSubHourEdgesRaw() {
+        LocalDateTime from = LocalDateTime.of(2024, 3, 1, 10, 15);
+        LocalDateTime to = LocalDateTime.of(2024, 3, 1, 12, 45);
+
+        assertThat(RollupRangePlanner.plan(from, to, RollupGranularity.sketchedLevels())).containsExactly(
+                new StatsRange(null, from, LocalDateTime.of(2024, 3, 1, 11, 0)),
+                new StatsRange(RollupGranularity.HOUR,
+                        LocalDateTime.of(2024, 3, 1, 11, 0), LocalDateTime.of(2024, 3, 1, 12, 0)),
+                new StatsRange(null, LocalDateTime.of(2024, 3, 1, 12, 0), to));
+    }
+
+    @Test
+    void emptyRangeProducesNoSegments() {
+        LocalDateTime at = LocalDateTime.of(2024, 3, 1, 10, 0);
+
+        assertThat(RollupRangePlanner.plan(at, at)).isEmpty();
+    }
+}
@@ -0,0 +1,98 @@
+package server.service;
+
+import model.EndpointHitDto;
+import model.ViewStatsDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import server.repository.HitBatchRepository;
+import server.repository.JpaTestApplication;
+import util.test.PostgresIntegrationTest;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Уникальные просмотры при включённом сроке хранения: сырые хиты старше границы удалены вместе с партицией,
+ * а запрос точной статистики с начала истории не должен обнулять просмотры.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = JpaTestApplication.class)
+@Import({StatsService.class, HitBatchRepository.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StatsRetentionTest extends PostgresIntegrationTest {
+    private static final LocalDateTime HORIZON = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS).minusDays(10);
+    private static final List<String> URIS = List.of("/events/1");
+
+    @MockBean
+    private HitPartitionMaintainer hitPartitionMaintainer;
+
+    @Autowired
+    private StatsService statsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        when(hitPartitionMaintainer.getRawHitsHorizon()).thenReturn(HORIZON);
+        statsService.saveHits(IntStream.range(0, 20)
+                .mapToObj(i -> hit("10.0.0." + i, HORIZON.minusDays(20).plusHours(i)))
+                .toList());
+        statsService.saveHits(IntStream.range(10, 30)
+                .mapToObj(i -> hit("10.0.0." + i, HORIZON.plusDays(2).plusHours(i)))
+                .toList());
+        // Партиция старше срока хранения удалена
+        jdbcTemplate.update("DELETE FROM endpoint_hits WHERE timestamp < ?", HORIZON);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("TRUNCATE endpoint_hits, hit_rollups, hit_sketches");
+    }
+
+    @Test
+    void exactUniqueViewsFromBeforeHorizonAreEstimatedFromSketches() {
+        List<ViewStatsDto> stats = statsService.getStats(HORIZON.minusDays(60), LocalDateTime.now(), URIS,
+                true, false);
+
+        assertThat(stats).singleElement().satisfies(stat -> {
+            assertThat(stat.getHits()).isBetween(28L, 32L);
+            assertThat(stat.getApproximate()).isTrue();
+        });
+    }
+
+    @Test
+    void exactUniqueViewsWithinRetentionStayExact() {
+        List<ViewStatsDto> stats = statsService.getStats(HORIZON, LocalDateTime.now(), URIS, true, false);
+
+        assertThat(stats).singleElement().satisfies(stat -> {
+            assertThat(stat.getHits()).isEqualTo(20L);
+            assertThat(stat.getApproximate()).isNull();
+        });
+    }
+
+    private static EndpointHitDto hit(String ip, LocalDateTime timestamp) {
+        return EndpointHitDto.builder()
+                .app("ewm-main-service")
+                .uri(URIS.get(0))
+                .ip(ip)
+                .timestamp(timestamp)
+                .build();
+    }
+}
@@ -0,0 +1,52 @@
+package server.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import server.repository.HitBatchRepository;
+import server.repository.HitRollupRepository;
+import server.repository.HitSketchRepository;
+import server.repository.StatsRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StatsServiceTest {
+    private static final LocalDateTime HORIZON = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    private final StatsRepository statsRepository = mock(StatsRepository.class);
+    private final HitSketchRepository hitSketchRepository = mock(HitSketchRepository.class);
+    private final HitPartitionMaintainer hitPartitionMaintainer = mock(HitPartitionMaintainer.class);
+    private StatsService statsService;
+
+    @BeforeEach
+    void setUp() {
+        statsService = new StatsService(statsRepository, mock(HitBatchRepository.class),
+                mock(HitRollupRepository.class), hitSketchRepository, hitPartitionMaintainer);
+        when(hitPartitionMaintainer.getRawHitsHorizon()).thenReturn(HORIZON);
+    }
+
+    @Test
+    void exactUniqueStatsBeforeRetentionHorizonFallBackToSketches() {
+        when(hitSketchRepository.streamSketches(any(), any(), any(), any())).thenReturn(Stream.empty());
+
+        statsService.getStats(HORIZON.minusDays(40), HORIZON.plusDays(1), List.of("/events/1"), true, false);
+
+        verify(statsRepository, never()).findUniqueStats(any(), any(), any());
+        verify(hitSketchRepository, atLeastOnce()).streamSketches(any(), any(), any(), any());
+    }
+
+    @Test
+    void exactUniqueStatsWithinRetentionAreCountedByRawHits() {
+        statsService.getStats(HORIZON, HORIZON.plusDays(1), List.of("/events/1"), true, false);
+
+        verify(statsRepository).findUniqueStats(HORIZON, HORIZON.plusDays(1), List.of("/events/1"));
+    }
+}
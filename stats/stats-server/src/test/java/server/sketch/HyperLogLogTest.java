@@ -0,0 +1,76 @@
+package server.sketch;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.withinPercentage;
+
+class HyperLogLogTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {1_000, 10_000, 100_000})
+    void estimateStaysWithinErrorBound(int cardinality) {
+        HyperLogLog sketch = sketchOf(0, cardinality);
+
+        // Стандартная ошибка при точности 12 около 1.6%, граница взята с запасом в три сигмы
+        assertThat(sketch.estimate()).isCloseTo(cardinality, withinPercentage(5));
+    }
+
+    @Test
+    void smallCardinalityIsCountedAlmostExactly() {
+        assertThat(new HyperLogLog().estimate()).isZero();
+        assertThat(sketchOf(0, 10).estimate()).isEqualTo(10L);
+        assertThat(sketchOf(0, 100).estimate()).isCloseTo(100L, withinPercentage(2));
+    }
+
+    @Test
+    void duplicatesDoNotChangeEstimate() {
+        HyperLogLog sketch = sketchOf(0, 1_000);
+        long estimate = sketch.estimate();
+
+        IntStream.range(0, 1_000).forEach(i -> sketch.add(ip(i)));
+
+        assertThat(sketch.estimate()).isEqualTo(estimate);
+    }
+
+    @Test
+    void mergeEqualsSketchOfUnion() {
+        HyperLogLog left = sketchOf(0, 6_000);
+        HyperLogLog right = sketchOf(4_000, 10_000);
+
+        left.merge(right);
+
+        assertThat(left.toBytes()).isEqualTo(sketchOf(0, 10_000).toBytes());
+    }
+
+    @Test
+    void bytesRoundTripKeepsRegisters() {
+        HyperLogLog sketch = sketchOf(0, 5_000);
+
+        HyperLogLog restored = HyperLogLog.fromBytes(sketch.toBytes());
+
+        assertThat(restored.toBytes()).isEqualTo(sketch.toBytes());
+        assertThat(restored.estimate()).isEqualTo(sketch.estimate());
+    }
+
+    @Test
+    void mergeRejectsDifferentPrecision() {
+        assertThatThrownBy(() -> new HyperLogLog(10).merge(new HyperLogLog(12)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static HyperLogLog sketchOf(int from, int to) {
+        HyperLogLog sketch = new HyperLogLog();
+        IntStream.range(from, to).forEach(i -> sketch.add(ip(i)));
+        return sketch;
+    }
+
+    private static String ip(int i) {
+        return "10." + (i >> 16 & 0xff) + "." + (i >> 8 & 0xff) + "." + (i & 0xff);
+    }
+}